@@ -2,46 +2,123 @@ package scrabble;
 
 import java.io.File;
 import java.io.FileNotFoundException;
-import java.util.ArrayList;
-import java.util.Random;
 import java.util.Scanner;
+import java.util.SplittableRandom;
 
 /**
- * A bag is a collection Tiles that is used to play the game of scrabble
+ * A bag is a collection Tiles that is used to play the game of scrabble.
+ * The letters of the tiles are kept in an array of chars and a drawn tile is
+ * replaced by the last tile in the array so drawing is always fast. The
+ * number of each tile is read from the file once and shared by every bag and
+ * every tile with the same letter is the same tile object
  *
  * @author Logan Nunno
  */
 public class Bag {
-    private ArrayList<Tile> tiles = new ArrayList<>();
+    private static final Tile[] TILES = new Tile[128];
+    private static final int BLANK = 26;
+    private static char[] distribution;
+
+    static {
+        for (char c = 0; c < TILES.length; c++) {
+            TILES[c] = new Tile(c);
+        }
+    }
+
+    private char[] tiles;
+    private int count;
+    private SplittableRandom rand;
 
     /**
      * Constructor to build a bag of 100 tiles based on the
      * standard scrabble rules
      */
     public Bag() {
-        buildBag();
+        this(new SplittableRandom());
+    }
+
+    /**
+     * Constructor to build a bag that always draws the tiles in the same
+     * order for the same seed so a game can be played again
+     *
+     * @param seed the seed of the random numbers used to draw tiles
+     */
+    public Bag(long seed) {
+        this(new SplittableRandom(seed));
     }
 
     /**
-     * Builds the bag by reading in the file of scrabble tile occurrences
-     * and building the number and tiles that the file requires
+     * Constructor to build a bag with all the tiles that draws them with
+     * the provided random numbers
+     *
+     * @param rand the random numbers used to draw tiles
      */
-    private void buildBag() {
-        try {
-            Scanner sc = new Scanner(new File("resources/scrabble_tiles.txt"));
-            while (sc.hasNext()) {
-                char letter = sc.next().charAt(0);
-                sc.next();
-                int count = Integer.parseInt(sc.next());
-                for (int i = 0; i < count; i++) {
-                    tiles.add(new Tile(letter));
+    private Bag(SplittableRandom rand) {
+        this.rand = rand;
+        tiles = getDistribution().clone();
+        count = tiles.length;
+    }
+
+    /**
+     * gets the letter of every tile in a full bag. The first time it is
+     * needed the file of scrabble tile occurrences is read and the letters
+     * are kept for every bag after that
+     *
+     * @return the letters of a full bag that must not be changed
+     */
+    static synchronized char[] getDistribution() {
+        if (distribution == null) {
+            StringBuilder letters = new StringBuilder(100);
+            try (Scanner sc = new Scanner(new File("resources/scrabble_tiles.txt"))) {
+                while (sc.hasNext()) {
+                    char letter = sc.next().charAt(0);
+                    sc.next();
+                    int count = Integer.parseInt(sc.next());
+                    for (int i = 0; i < count; i++) {
+                        letters.append(letter);
+                    }
                 }
+            } catch (FileNotFoundException e) {
+                throw new RuntimeException(e);
+            }
+            distribution = letters.toString().toCharArray();
+        }
+        return distribution;
+    }
 
+    /**
+     * finds the tiles that have not been seen by the player. These are the
+     * tiles of a full bag without the tiles on the board and in the tray.
+     * A letter on the board that is upper case was played with a blank
+     *
+     * @param board the board of the game
+     * @param tray  the tray of the player
+     * @return the letters of the tiles that have not been seen
+     */
+    static char[] unseen(Board board, Rack tray) {
+        int[] counts = new int[BLANK + 1];
+        for (char letter : getDistribution()) {
+            counts[letter == '*' ? BLANK : letter - 'a']++;
+        }
+        for (BoardSquare[] row : board.getBoard()) {
+            for (BoardSquare square : row) {
+                if (square.hasLetter()) {
+                    char letter = square.getLetter();
+                    counts[Character.isUpperCase(letter) ? BLANK : letter - 'a']--;
+                }
             }
-            sc.close();
-        } catch (FileNotFoundException e) {
-            throw new RuntimeException(e);
         }
+        for (int i = 0; i < BLANK; i++) {
+            counts[i] -= tray.count(i);
+        }
+        counts[BLANK] -= tray.getBlanks();
+        StringBuilder letters = new StringBuilder(100);
+        for (int i = 0; i <= BLANK; i++) {
+            for (int j = 0; j < counts[i]; j++) {
+                letters.append(i == BLANK ? '*' : (char) ('a' + i));
+            }
+        }
+        return letters.toString().toCharArray();
     }
 
     /**
@@ -49,7 +126,15 @@ public class Bag {
      * @return if the bag is empty
      */
     public boolean hasTilesLeft() {
-        return !tiles.isEmpty();
+        return count > 0;
+    }
+
+    /**
+     * gets the number of tiles that are left in the bag
+     * @return the number of tiles as an int
+     */
+    public int getTilesLeft() {
+        return count;
     }
 
     /**
@@ -58,13 +143,13 @@ public class Bag {
      * @return the tile that is being drawn
      */
     public Tile drawTile() {
-        //Random rand = new Random(1222);
-        Random rand = new Random();
         if (hasTilesLeft()) {
-
-            return tiles.remove(rand.nextInt(tiles.size()));
+            int index = rand.nextInt(count);
+            char letter = tiles[index];
+            tiles[index] = tiles[--count];
+            return TILES[letter];
         } else {
-            return new Tile(' ');
+            return TILES[' '];
         }
     }
 }
@@ -0,0 +1,287 @@
+package scrabble;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.function.LongSupplier;
+
+/**
+ * A benchmark measures how long the main parts of the game take so changes
+ * to the solver and the move checks can be compared. Each benchmark is run
+ * for a few warm up iterations that are not counted and then for the
+ * measured iterations. Each iteration runs the benchmark as many times as it
+ * can in a fixed time and the result is the average time of one run.
+ * <p>
+ * The positions are made by two computer players playing a game with a
+ * seeded bag, so the same seed and dictionary always give the same empty,
+ * midgame and dense boards and the same trays
+ *
+ * @author Logan Nunno
+ */
+public class Benchmark {
+    private static final int MIDGAME_MOVES = 8;
+    private static final int DENSE_MOVES = 20;
+    private static volatile long sink;
+    private String dictionaryPath;
+    private Dictionary dictionary;
+    private int warmup = 3;
+    private int iterations = 5;
+    private long iterationNanos = 1_000_000_000L;
+    private String filter = "";
+    private ArrayList<String> names = new ArrayList<>();
+    private ArrayList<LongSupplier> benchmarks = new ArrayList<>();
+
+    /**
+     * Constructor for a benchmark
+     *
+     * @param dictionaryPath the path of the dictionary that is loaded
+     * @param dictionary     the dictionary used by every other benchmark
+     */
+    public Benchmark(String dictionaryPath, Dictionary dictionary) {
+        this.dictionaryPath = dictionaryPath;
+        this.dictionary = dictionary;
+    }
+
+    /**
+     * A position is a board and the tray of the player whose turn it is
+     * with the best move that player can make
+     */
+    private static class Position {
+        private final Board board;
+        private final Rack tray;
+        private final Move best;
+
+        /**
+         * Constructor for a position
+         *
+         * @param board the board of the position
+         * @param tray  the tray of the player whose turn it is
+         * @param best  the best move or null if there is not one
+         */
+        private Position(Board board, Rack tray, Move best) {
+            this.board = board;
+            this.tray = tray;
+            this.best = best;
+        }
+    }
+
+    /**
+     * Makes a position by playing a game between two computer players with
+     * a seeded bag for a number of moves
+     *
+     * @param start the empty board the game is played on
+     * @param seed  the seed of the bag
+     * @param moves the number of moves that are played
+     * @return the position after the moves
+     */
+    private Position position(Board start, long seed, int moves) {
+        Bag bag = new Bag(seed);
+        ComputerPlayer[] players = {new ComputerPlayer(bag, start, dictionary),
+                new ComputerPlayer(bag, start, dictionary)};
+        int turn = 0;
+        for (int i = 0; i < moves; i++) {
+            Board next = players[turn].takeTurn();
+            turn = (turn + 1) % players.length;
+            players[turn].setBoard(next);
+        }
+        Board board = new Board(players[turn].board);
+        Rack tray = players[turn].convertTray();
+        Solver solver = new Solver(dictionary, board, new Rack(tray));
+        solver.findAllOptions();
+        return new Position(board, tray, solver.getBestPlay());
+    }
+
+    /**
+     * adds a benchmark if its name has the filter in it
+     *
+     * @param name      the name of the benchmark
+     * @param benchmark the work of one run that returns a value so the work
+     *                  is not skipped
+     */
+    private void add(String name, LongSupplier benchmark) {
+        if (name.contains(filter)) {
+            names.add(name);
+            benchmarks.add(benchmark);
+        }
+    }
+
+    /**
+     * adds every benchmark. This is loading the dictionary, looking up words,
+     * querying the word index with the tray of the midgame, finding anchors
+     * and finding moves with each engine on the empty, midgame and dense
+     * boards and checking the best move of the midgame and dense boards in
+     * each way a move can be checked
+     *
+     * @param start the empty board
+     * @param seed  the seed of the game that makes the positions
+     */
+    private void addAll(Board start, long seed) {
+        Position[] positions = {position(start, seed, 0),
+                position(start, seed, MIDGAME_MOVES),
+                position(start, seed, DENSE_MOVES)};
+        String[] positionNames = {"empty", "midgame", "dense"};
+        add("dictionary.load", () -> new Dictionary(dictionaryPath).getWords().size());
+        ArrayList<String> words = new ArrayList<>();
+        for (Position position : positions) {
+            if (position.best != null) {
+                words.add(position.best.getWord().toLowerCase());
+                words.add(position.best.getWord().toLowerCase() + "q");
+            }
+        }
+        Dawg dawg = dictionary.getWords();
+        add("dictionary.lookUp", () -> {
+            long found = 0;
+            for (String word : words) {
+                found += dawg.lookUp(word);
+            }
+            return found;
+        });
+        String tray = positions[1].tray.toString();
+        add("query.anagrams", () -> dictionary.getIndex().anagrams(tray).count());
+        add("query.words", () -> dictionary.getIndex().words(tray).count());
+        add("query.matching", () -> dictionary.getIndex().matching("?a??e").count());
+        add("query.matching.first",
+                () -> dictionary.getIndex().matching("?a??e").limit(1).count());
+        for (int i = 0; i < positions.length; i++) {
+            Position position = positions[i];
+            BoardSquare[][] squares = position.board.getBoard();
+            add("board.copy." + positionNames[i],
+                    () -> new Board(squares).getBoard().length);
+            Board board = new Board(squares);
+            add("anchors." + positionNames[i],
+                    () -> board.findAnchors().cardinality());
+            for (Solver.Engine engine : Solver.Engine.values()) {
+                add("movegen." + engine.toString().toLowerCase() + "."
+                        + positionNames[i], () -> {
+                    Solver solver = new Solver(dictionary, position.board,
+                            new Rack(position.tray), engine);
+                    solver.findAllOptions();
+                    return solver.getBestScore();
+                });
+            }
+            if (position.best == null || i == 0) {
+                continue;
+            }
+            Move best = position.best;
+            Board after = best.toBoard(position.board);
+            ArrayList<BoardSquare> word = mainWord(best);
+            add("validate.isLegalPlay." + positionNames[i],
+                    () -> position.board.isLegalPlay(best, dictionary) ? 1 : 0);
+            add("validate.scorePlay." + positionNames[i],
+                    () -> position.board.scorePlay(best, dictionary));
+            add("validate.compareBoards." + positionNames[i],
+                    () -> position.board.compareBoards(after, dictionary).length());
+            add("validate.checkScore." + positionNames[i],
+                    () -> ScoreChecker.checkScore(word, dictionary, position.board, 0));
+        }
+    }
+
+    /**
+     * makes the squares of the main word of a move
+     *
+     * @param move the move
+     * @return a square for each letter of the word
+     */
+    private static ArrayList<BoardSquare> mainWord(Move move) {
+        ArrayList<BoardSquare> word = new ArrayList<>();
+        int rowStep = move.getDirection() == Solver.Direction.DOWN ? 1 : 0;
+        int colStep = move.getDirection() == Solver.Direction.ACROSS ? 1 : 0;
+        for (int i = 0; i < move.getWord().length(); i++) {
+            word.add(new BoardSquare(move.getRow() + i * rowStep,
+                    move.getCol() + i * colStep, move.getWord().charAt(i), 1, 1));
+        }
+        return word;
+    }
+
+    /**
+     * runs a benchmark as many times as it can in the time of one iteration
+     *
+     * @param benchmark the benchmark that is run
+     * @return the average time of one run in microseconds
+     */
+    private double iteration(LongSupplier benchmark) {
+        long result = 0;
+        long runs = 0;
+        long start = System.nanoTime();
+        long elapsed;
+        do {
+            result += benchmark.getAsLong();
+            runs++;
+            elapsed = System.nanoTime() - start;
+        } while (elapsed < iterationNanos);
+        sink += result;
+        return elapsed / 1e3 / runs;
+    }
+
+    /**
+     * runs every benchmark and prints the average time of one run and the
+     * standard deviation of the measured iterations
+     */
+    public void run() {
+        System.out.printf("%-36s %5s %12s %10s  %s%n", "Benchmark", "Cnt",
+                "Score", "Error", "Units");
+        for (int i = 0; i < benchmarks.size(); i++) {
+            for (int j = 0; j < warmup; j++) {
+                iteration(benchmarks.get(i));
+            }
+            double[] scores = new double[iterations];
+            double mean = 0;
+            for (int j = 0; j < iterations; j++) {
+                scores[j] = iteration(benchmarks.get(i));
+                mean += scores[j] / iterations;
+            }
+            double variance = 0;
+            for (double score : scores) {
+                variance += (score - mean) * (score - mean);
+            }
+            double error = iterations > 1 ? Math.sqrt(variance / (iterations - 1)) : 0;
+            System.out.printf("%-36s %5d %12.3f +- %8.3f  us/op%n", names.get(i),
+                    iterations, mean, error);
+        }
+    }
+
+    /**
+     * Main method that runs the benchmarks. The first command line argument
+     * is the file path of the dictionary. The other arguments are optional.
+     * Any argument that is not an option only runs the benchmarks that have
+     * it in their name. --warmup and --iterations pick how many iterations
+     * are run, --time picks how many milliseconds each iteration is, --seed
+     * picks the game the positions come from and --board picks the file of
+     * the empty board
+     *
+     * @param args command line arguments
+     */
+    public static void main(String[] args) {
+        if (args.length < 1) {
+            System.out.println("Please enter a file name");
+        } else {
+            Dictionary dictionary = DictionaryRegistry.acquire(args[0]);
+            Benchmark benchmark = new Benchmark(args[0], dictionary);
+            long seed = 1;
+            String boardPath = "resources/scrabble_board.txt";
+            for (int i = 1; i < args.length; i++) {
+                if (args[i].equals("--warmup") && i + 1 < args.length) {
+                    benchmark.warmup = Integer.parseInt(args[++i]);
+                } else if (args[i].equals("--iterations") && i + 1 < args.length) {
+                    benchmark.iterations = Integer.parseInt(args[++i]);
+                } else if (args[i].equals("--time") && i + 1 < args.length) {
+                    benchmark.iterationNanos = Long.parseLong(args[++i]) * 1_000_000;
+                } else if (args[i].equals("--seed") && i + 1 < args.length) {
+                    seed = Long.parseLong(args[++i]);
+                } else if (args[i].equals("--board") && i + 1 < args.length) {
+                    boardPath = args[++i];
+                } else {
+                    benchmark.filter = args[i];
+                }
+            }
+            try (InputStream in = new FileInputStream(boardPath)) {
+                benchmark.addAll(Board.readInputBoard(new BoardReader(in)), seed);
+                benchmark.run();
+            } catch (IOException e) {
+                System.out.println(e);
+            }
+            DictionaryRegistry.release(dictionary);
+        }
+    }
+}
@@ -2,8 +2,9 @@ package scrabble;
 
 
 import java.awt.*;
+import java.io.IOException;
 import java.util.ArrayList;
-import java.util.Scanner;
+import java.util.BitSet;
 
 /**
  * A representation of the scrabble game board
@@ -15,7 +16,7 @@ import java.util.Scanner;
 public class Board {
     private int size;
     private BoardSquare[][] board;
-
+    private BitSet anchors;
 
     /**
      * board constructor that just takes a size and nothing else
@@ -40,6 +41,18 @@ public class Board {
         }
     }
 
+    /**
+     * Board constructor to make a copy of another board. The anchors of the
+     * other board are copied instead of being found again
+     * @param board the board that is going to be copied
+     */
+    public Board(Board board) {
+        this(board.getBoard());
+        if (board.anchors != null) {
+            anchors = (BitSet) board.anchors.clone();
+        }
+    }
+
     /**
      * adds a provided letter to a provided row and column
      * @param letter letter that will be added to a board
@@ -48,6 +61,7 @@ public class Board {
      */
     public void addLetter(char letter, int row, int col) {
         board[row][col].setLetter(letter);
+        updateAnchors(row, col);
     }
 
     /**
@@ -56,7 +70,312 @@ public class Board {
      * @param pos Point where it will be added
      */
     public void addLetter(char letter, Point pos) {
-        board[pos.y][pos.x].setLetter(letter);
+        addLetter(letter, pos.y, pos.x);
+    }
+
+    /**
+     * gets the anchors of the board. An anchor is an empty square that is
+     * next to a letter. There is one bit for each square going across each
+     * row. They are found the first time they are asked for and then kept
+     * up to date when letters are added, applied or undone so they do not
+     * have to be found again every turn. The set must not be changed
+     * @return the set of anchors
+     */
+    public BitSet getAnchors() {
+        if (anchors == null) {
+            anchors = findAnchors();
+        }
+        return anchors;
+    }
+
+    /**
+     * finds the anchors of every square of the board without using the
+     * anchors that are kept
+     * @return a new set of anchors
+     */
+    BitSet findAnchors() {
+        BitSet found = new BitSet(size * size);
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                found.set(row * size + col, isAnchor(row, col));
+            }
+        }
+        return found;
+    }
+
+    /**
+     * updates the anchors of a square that changed and the squares
+     * next to it if the anchors have been found
+     * @param row row of the square that changed
+     * @param col column of the square that changed
+     */
+    private void updateAnchors(int row, int col) {
+        if (anchors != null) {
+            updateAnchor(row, col);
+            updateAnchor(row - 1, col);
+            updateAnchor(row + 1, col);
+            updateAnchor(row, col - 1);
+            updateAnchor(row, col + 1);
+        }
+    }
+
+    /**
+     * checks if a single square is an anchor and updates the anchors
+     * @param row row of the square
+     * @param col column of the square
+     */
+    private void updateAnchor(int row, int col) {
+        if (inBounds(row, col)) {
+            anchors.set(row * size + col, isAnchor(row, col));
+        }
+    }
+
+    /**
+     * checks if a square is empty and next to a letter
+     * @param row row of the square
+     * @param col column of the square
+     * @return if the square is an anchor
+     */
+    private boolean isAnchor(int row, int col) {
+        return !hasLetter(row, col)
+                && (hasLetter(row - 1, col) || hasLetter(row + 1, col)
+                || hasLetter(row, col - 1) || hasLetter(row, col + 1));
+    }
+
+    /**
+     * places the tiles of a move on the board. The squares that were covered
+     * are given back so the move can be undone. Nothing is kept by the board
+     * so a move that is never undone does not use any more memory
+     * @param move the move that is played
+     * @return the squares that were covered in the same order as the tiles
+     */
+    public BoardSquare[] apply(Move move) {
+        BoardSquare[] covered = new BoardSquare[move.getTileCount()];
+        for (int i = 0; i < covered.length; i++) {
+            int row = move.getTileRow(i);
+            int col = move.getTileCol(i);
+            covered[i] = board[row][col];
+            board[row][col] = new BoardSquare(row, col, move.getTileLetter(i), 1, 1);
+            updateAnchors(row, col);
+        }
+        return covered;
+    }
+
+    /**
+     * takes the tiles of a move off of the board and puts back the squares
+     * that were there before. Moves must be undone in the opposite order
+     * they were applied
+     * @param move    the move that is being undone
+     * @param covered the squares apply gave back when the move was applied
+     */
+    public void undo(Move move, BoardSquare[] covered) {
+        if (covered.length != move.getTileCount()) {
+            throw new IllegalStateException("squares are not from the move: " + move);
+        }
+        for (int i = 0; i < covered.length; i++) {
+            int row = move.getTileRow(i);
+            int col = move.getTileCol(i);
+            if (covered[i].getRow() != row || covered[i].getCol() != col
+                    || board[row][col].getLetter() != move.getTileLetter(i)) {
+                throw new IllegalStateException("move is not on the board: " + move);
+            }
+        }
+        for (BoardSquare square : covered) {
+            board[square.getRow()][square.getCol()] = square;
+            updateAnchors(square.getRow(), square.getCol());
+        }
+    }
+
+    /**
+     * Checks if a move is legal and finds its score using only the tiles of
+     * the move. The tiles must all be on empty squares in one line with no
+     * gaps other than letters already on the board, it must be connected to
+     * the letters on the board or cover the center square if the board is
+     * empty and every word it makes must be in the dictionary. The move is
+     * applied while it is checked and then undone
+     * @param move       the move that is being checked
+     * @param dictionary list of valid words
+     * @return the score of the move or -1 if it is not legal
+     */
+    public int scorePlay(Move move, Dictionary dictionary) {
+        int count = move.getTileCount();
+        if (count == 0) {
+            return -1;
+        }
+        int[] wordMults = new int[count];
+        int[] letterMults = new int[count];
+        boolean sameRow = true;
+        boolean sameCol = true;
+        boolean coversCenter = false;
+        for (int i = 0; i < count; i++) {
+            int row = move.getTileRow(i);
+            int col = move.getTileCol(i);
+            if (hasLetter(row, col) || !inBounds(row, col)
+                    || tileAt(move, i, row, col) != i) {
+                return -1;
+            }
+            wordMults[i] = board[row][col].getWordMultiplier();
+            letterMults[i] = board[row][col].getLetterMultiplier();
+            sameRow &= row == move.getTileRow(0);
+            sameCol &= col == move.getTileCol(0);
+            coversCenter |= row == size / 2 && col == size / 2;
+        }
+        if (!sameRow && !sameCol) {
+            return -1;
+        }
+        boolean wasEmpty = isEmpty();
+        if (wasEmpty && !coversCenter) {
+            return -1;
+        }
+        boolean across = count > 1 ? sameRow :
+                hasLetter(move.getTileRow(0), move.getTileCol(0) - 1)
+                        || hasLetter(move.getTileRow(0), move.getTileCol(0) + 1);
+        BoardSquare[] covered = apply(move);
+        try {
+            int length = wordLength(move.getTileRow(0), move.getTileCol(0), across);
+            boolean connected = length > count;
+            if (length < 2 || !coversAll(move, across)) {
+                return -1;
+            }
+            int score = scoreWord(move, dictionary, wordMults, letterMults, 0, across);
+            if (score == -1) {
+                return -1;
+            }
+            for (int i = 0; i < count; i++) {
+                if (wordLength(move.getTileRow(i), move.getTileCol(i), !across) > 1) {
+                    int crossScore = scoreWord(move, dictionary, wordMults,
+                            letterMults, i, !across);
+                    if (crossScore == -1) {
+                        return -1;
+                    }
+                    score += crossScore;
+                    connected = true;
+                }
+            }
+            if (!connected && !wasEmpty) {
+                return -1;
+            }
+            return count == 7 ? score + 50 : score;
+        } finally {
+            undo(move, covered);
+        }
+    }
+
+    /**
+     * Checks if a move is legal using only the tiles of the move
+     * @param move       the move that is being checked
+     * @param dictionary list of valid words
+     * @return if the move is legal or not
+     */
+    public boolean isLegalPlay(Move move, Dictionary dictionary) {
+        return scorePlay(move, dictionary) != -1;
+    }
+
+    /**
+     * finds the index of the first tile of a move at a row and column
+     * @param move the move with the tiles
+     * @param last the index of the last tile that is checked
+     * @param row  the row of the square
+     * @param col  the column of the square
+     * @return the index of the tile or -1 if there is not one
+     */
+    private static int tileAt(Move move, int last, int row, int col) {
+        for (int i = 0; i <= last; i++) {
+            if (move.getTileRow(i) == row && move.getTileCol(i) == col) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * checks that the word through the first tile of a move covers every
+     * tile of the move. The move must already be applied
+     * @param move   the move that is being checked
+     * @param across if the word goes across or down
+     * @return if every tile is in the word
+     */
+    private boolean coversAll(Move move, boolean across) {
+        int row = move.getTileRow(0);
+        int col = move.getTileCol(0);
+        for (int i = 1; i < move.getTileCount(); i++) {
+            int start = across ? Math.min(col, move.getTileCol(i)) :
+                    Math.min(row, move.getTileRow(i));
+            int end = across ? Math.max(col, move.getTileCol(i)) :
+                    Math.max(row, move.getTileRow(i));
+            for (int j = start; j <= end; j++) {
+                if (across ? !hasLetter(row, j) : !hasLetter(j, col)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * gets the length of the word made by the letters going through a square
+     * @param row    the row of the square
+     * @param col    the column of the square
+     * @param across if the word goes across or down
+     * @return the number of letters in a line with no gaps through the square
+     */
+    private int wordLength(int row, int col, boolean across) {
+        int rowStep = across ? 0 : 1;
+        int colStep = across ? 1 : 0;
+        int length = 1;
+        for (int r = row - rowStep, c = col - colStep; hasLetter(r, c);
+             r -= rowStep, c -= colStep) {
+            length++;
+        }
+        for (int r = row + rowStep, c = col + colStep; hasLetter(r, c);
+             r += rowStep, c += colStep) {
+            length++;
+        }
+        return length;
+    }
+
+    /**
+     * finds the word that goes through one of the tiles of a move and scores
+     * it. Only the new tiles use the multipliers. The move must already be
+     * applied. The word is checked by walking the dawg one letter at a time
+     * @param move        the move that is being scored
+     * @param dictionary  list of valid words
+     * @param wordMults   the word multipliers under each tile
+     * @param letterMults the letter multipliers under each tile
+     * @param tile        the index of the tile the word goes through
+     * @param across      if the word goes across or down
+     * @return the score of the word or -1 if it is not a word
+     */
+    private int scoreWord(Move move, Dictionary dictionary, int[] wordMults,
+                          int[] letterMults, int tile, boolean across) {
+        int rowStep = across ? 0 : 1;
+        int colStep = across ? 1 : 0;
+        int row = move.getTileRow(tile);
+        int col = move.getTileCol(tile);
+        while (hasLetter(row - rowStep, col - colStep)) {
+            row -= rowStep;
+            col -= colStep;
+        }
+        Dawg words = dictionary.getWords();
+        int node = words.root();
+        int score = 0;
+        int multiplier = 1;
+        for (; hasLetter(row, col); row += rowStep, col += colStep) {
+            int placed = tileAt(move, move.getTileCount() - 1, row, col);
+            if (placed == -1) {
+                score += board[row][col].getScore();
+            } else {
+                score += board[row][col].getScore() * letterMults[placed];
+                multiplier *= wordMults[placed];
+            }
+            if (node != Dawg.NONE) {
+                node = words.getChild(node, board[row][col].getLetter());
+            }
+        }
+        if (!words.isWord(node)) {
+            return -1;
+        }
+        return score * multiplier;
     }
 
     /**
@@ -69,9 +388,7 @@ public class Board {
      */
     public void updatePosition(int position, String line) {
         if (line.length() == 1) {
-            board[position / size][position % size] =
-                    new BoardSquare(position / size, position % size,
-                            line.charAt(0), 1, 1);
+            updatePosition(position, line.charAt(0));
         } else {
             int wordMult;
             int letterMult;
@@ -85,14 +402,38 @@ public class Board {
             } else {
                 letterMult = Integer.parseInt(line.charAt(1) + "");
             }
-
-            board[position / size][position % size] =
-                    new BoardSquare(position / size, position % size,
-                            ' ', wordMult, letterMult);
+            updatePosition(position, wordMult, letterMult);
         }
 
     }
 
+    /**
+     * Updates a position on the board to have a letter and no multipliers
+     *
+     * @param position place where the board will be updated
+     * @param letter   the letter that is on the board in that place
+     */
+    public void updatePosition(int position, char letter) {
+        board[position / size][position % size] =
+                new BoardSquare(position / size, position % size, letter, 1, 1);
+        anchors = null;
+    }
+
+    /**
+     * Updates a position on the board to be empty with the provided
+     * multipliers
+     *
+     * @param position   place where the board will be updated
+     * @param wordMult   the word multiplier in that place
+     * @param letterMult the letter multiplier in that place
+     */
+    public void updatePosition(int position, int wordMult, int letterMult) {
+        board[position / size][position % size] =
+                new BoardSquare(position / size, position % size,
+                        ' ', wordMult, letterMult);
+        anchors = null;
+    }
+
     /**
      * prints the board to the console
      */
@@ -109,17 +450,25 @@ public class Board {
      * @return a string representing the board
      */
     public String toString() {
-        String s = "";
+        StringBuilder s = new StringBuilder(board.length * board.length * 3);
+        appendBoard(s);
+        return s.toString();
+    }
+
+    /**
+     * adds the board to a string builder in the same form as toString
+     * @param s the string builder the board is added to
+     */
+    private void appendBoard(StringBuilder s) {
         for (int i = 0; i < board.length; i++) {
             for (int j = 0; j < board[i].length; j++) {
-                s += board[i][j].toString();
+                s.append(board[i][j].toString());
                 if (j != board[i].length - 1) {
-                    s += " ";
+                    s.append(' ');
                 }
             }
-            s += "\n";
+            s.append('\n');
         }
-        return s;
     }
 
     /**
@@ -132,19 +481,12 @@ public class Board {
 
     /**
      * reads a single board in from standard input based on the size provided
-     * @param sc the scanner used to read in the board
+     * @param reader the board reader used to read in the board
      * @return the board that was read in from standard input
+     * @throws IOException if the input could not be read
      */
-    public static Board readInputBoard(Scanner sc) {
-        int numberOfSpaces = -1;
-        Board board;
-        int size = sc.nextInt();
-        board = new Board(size);
-        numberOfSpaces++;
-        for (int i = 0; i < size * size; i++) {
-            board.updatePosition(numberOfSpaces++, sc.next());
-        }
-        return board;
+    public static Board readInputBoard(BoardReader reader) throws IOException {
+        return reader.nextBoard();
     }
 
     /**
@@ -153,16 +495,33 @@ public class Board {
      * if a move was legal and the score that move is worth
      * @param dictionary list of valid words that are used to find if a move
      *                   is legal or not
-     * @param sc scanner used to read in the boards
+     * @param reader board reader used to read in the boards
+     * @throws IOException if the input could not be read
+     */
+    public static void getPairOfBoards(Dictionary dictionary, BoardReader reader)
+            throws IOException {
+        Board orginalBoard = readInputBoard(reader);
+        Board resultBoard = readInputBoard(reader);
+        StringBuilder result = new StringBuilder(2048);
+        orginalBoard.appendPair(resultBoard, dictionary, result);
+        System.out.print(result);
+    }
+
+    /**
+     * adds both boards of a pair and how they are different to a string
+     * builder in the same form that getPairOfBoards prints them
+     * @param resultBoard the board after the move was made
+     * @param dictionary list of valid words that are used to find if a move
+     *                   is legal or not
+     * @param result the string builder the pair is added to
      */
-    public static void getPairOfBoards(Dictionary dictionary, Scanner sc) {
-        Board orginalBoard = readInputBoard(sc);
-        Board resultBoard = readInputBoard(sc);
-        System.out.println("original board:");
-        orginalBoard.printBoard();
-        System.out.println("result board:");
-        resultBoard.printBoard();
-        System.out.println(orginalBoard.compareBoards(resultBoard, dictionary));
+    public void appendPair(Board resultBoard, Dictionary dictionary,
+                           StringBuilder result) {
+        result.append("original board:\n");
+        appendBoard(result);
+        result.append("result board:\n");
+        resultBoard.appendBoard(result);
+        result.append(compareBoards(resultBoard, dictionary)).append('\n');
     }
 
     /**
@@ -175,17 +534,8 @@ public class Board {
      */
     public int scoreBoard(Board result, Dictionary dictionary) {
         ArrayList<BoardSquare> differences = this.findAllDifferences(result);
-        if (!differences.isEmpty() && isLegalPlay(differences, dictionary, result)) {
-            if (this.findAllDifferences(result).size() == 7) {
-                return ScoreChecker.checkScore(differences, dictionary, this, 50)
-                        + getScoreForConnections(differences, dictionary, result);
-            } else {
-
-                return ScoreChecker.checkScore(differences, dictionary, this, 0)
-                        + getScoreForConnections(differences, dictionary, result);
-            }
-        }
-        return -1;
+        int bonus = differences.size() == 7 ? 50 : 0;
+        return scoreLegalPlay(differences, dictionary, result, bonus);
     }
 
     /**
@@ -226,35 +576,37 @@ public class Board {
      */
     public String scoreMove(ArrayList<BoardSquare> differences,
                             Dictionary dictionary, Board board, int bonus) {
-        String result = "";
+        StringBuilder result = new StringBuilder(64);
         if (!isIncompatibleBoards(differences)) {
-            result += "play is " + differencesString(differences);
-            result = result.substring(0, result.length() - 2);
-            if (isLegalPlay(differences, dictionary, board)) {
-                result += "\nplay is legal\n";
-                result += "score is " + (ScoreChecker.checkScore(differences,
-                        dictionary, this, bonus) +
-                        getScoreForConnections(differences, dictionary, board));
+            result.append("play is ");
+            appendDifferences(differences, result);
+            result.setLength(result.length() - 2);
+            int score = scoreLegalPlay(differences, dictionary, board, bonus);
+            if (score != -1) {
+                result.append("\nplay is legal\n");
+                result.append("score is ").append(score);
             } else {
-                result += "\nplay is not legal";
+                result.append("\nplay is not legal");
             }
         } else {
             for (BoardSquare square : differences) {
                 if (!square.hasLetter()) {
                     if (!board.hasLetter(square.getRow(), square.getCol())
                             && this.hasLetter(square.getRow(), square.getCol())) {
-                        result += "Incompatible boards: tile removed at ("
-                                + square.getRow() + ", " + square.getCol() + ")";
+                        result.append("Incompatible boards: tile removed at (")
+                                .append(square.getRow()).append(", ")
+                                .append(square.getCol()).append(')');
                     } else if (!this.getBoard()[square.getRow()]
                             [square.getCol()].equals(square)) {
-                        result += "Incompatible boards: multiplier mismatch at ("
-                                + square.getRow() + ", " + square.getCol() + ")";
+                        result.append("Incompatible boards: multiplier mismatch at (")
+                                .append(square.getRow()).append(", ")
+                                .append(square.getCol()).append(')');
                     }
                 }
             }
         }
 
-        return result + "\n";
+        return result.append('\n').toString();
     }
 
     /**
@@ -270,29 +622,43 @@ public class Board {
      * @return if the play is legal or not
      */
     public boolean isLegalPlay(ArrayList<BoardSquare> differences, Dictionary dictionary, Board board) {
+        return scoreLegalPlay(differences, dictionary, board, 0) != -1;
+    }
+
+    /**
+     * Checks if a play is legal the same way as isLegalPlay and gets its
+     * score while checking. The word that was played and each connection
+     * word are only looked up once so a play that is checked and then
+     * scored does not look up the same words again
+     * @param differences the list of differences between the two boards
+     * @param dictionary list of valid words that are used to find if a move
+     *                   is legal or not
+     * @param board the board after the play was made
+     * @param bonus extra score that is added to the word that was played
+     * @return the score of the play or -1 if it is not legal
+     */
+    private int scoreLegalPlay(ArrayList<BoardSquare> differences,
+                               Dictionary dictionary, Board board, int bonus) {
         if (differences.isEmpty()) {
-            return false;
+            return -1;
         }
         boolean isSplitPlay = isSplitPlay(differences, board);
         if (isSingleLinePlay(differences)) {
             completeWordPlay(differences, board);
         } else {
-            return false;
+            return -1;
         }
         if (!isSplitPlay && buildingPlay(differences, board)) {
 
         } else if (!board.hasConnection(differences) && !isEmpty() && !isSplitPlay) {
-            return false;
-        }
-        if (ScoreChecker.checkScore(differences, dictionary, this, 0) == -1) {
-            return false;
-        } else if (!board.hasLetter(size / 2, size / 2)) {
-            return false;
-        } else if (getScoreForConnections(differences, dictionary, board) == -1) {
-            return false;
-        } else {
-            return true;
+            return -1;
         }
+        int score = ScoreChecker.checkScore(differences, dictionary, this, bonus);
+        if (score == -1 || !board.hasLetter(size / 2, size / 2)) {
+            return -1;
+        }
+        int connections = getScoreForConnections(differences, dictionary, board);
+        return connections == -1 ? -1 : score + connections;
     }
 
     /**
@@ -319,13 +685,24 @@ public class Board {
      * @return a string representation of the differences
      */
     public String differencesString(ArrayList<BoardSquare> differences) {
-        String result = "";
-        for (int i = 0; i < differences.size(); i++) {
-            result += differences.get(i).getLetter() + " at (" +
-                    differences.get(i).getRow() + ", " +
-                    differences.get(i).getCol() + "), ";
+        StringBuilder result = new StringBuilder(differences.size() * 12);
+        appendDifferences(differences, result);
+        return result.toString();
+    }
+
+    /**
+     * adds the differences between two boards to a string builder in the
+     * same form as differencesString
+     * @param differences list of differences between two boards
+     * @param result the string builder the differences are added to
+     */
+    private void appendDifferences(ArrayList<BoardSquare> differences,
+                                   StringBuilder result) {
+        for (BoardSquare square : differences) {
+            result.append(square.getLetter()).append(" at (")
+                    .append(square.getRow()).append(", ")
+                    .append(square.getCol()).append("), ");
         }
-        return result;
     }
 
     /**
@@ -580,15 +957,13 @@ public class Board {
         int score = 0;
         ArrayList<BoardSquare> connections = findAllConnections(differences);
         for (BoardSquare square : connections) {
-            //maybe delete the second check 
             if (!this.hasLetter(square.getRow(), square.getCol())) {
-                if (ScoreChecker.checkScore(findConnectionWord(square,
-                        differences, result), dictionary, this, 0) != -1) {
-                    score += ScoreChecker.checkScore(findConnectionWord(square,
-                            differences, result), dictionary, this, 0);
-                } else {
+                int wordScore = ScoreChecker.checkScore(findConnectionWord(square,
+                        differences, result), dictionary, this, 0);
+                if (wordScore == -1) {
                     return -1;
                 }
+                score += wordScore;
             }
         }
         return score;
@@ -0,0 +1,252 @@
+package scrabble;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.InputMismatchException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * A board reader is used to read boards and trays from a stream. It reads
+ * the bytes of the stream into a buffer and fills the board straight from
+ * the bytes so no strings are made for each square. Squares are read the
+ * same way as the board is printed: a single letter is a letter on the
+ * board and two characters are the word multiplier and the letter
+ * multiplier where a dot means no multiplier
+ *
+ * @author Logan Nunno
+ */
+public class BoardReader {
+    private static final int BUFFER_SIZE = 1 << 16;
+    private InputStream in;
+    private byte[] buffer = new byte[BUFFER_SIZE];
+    private int position;
+    private int limit;
+
+    /**
+     * An item is something made from what is read next from a board reader,
+     * like a board and a tray or a pair of boards
+     *
+     * @param <T> the type of the item
+     */
+    public interface Item<T> {
+        /**
+         * reads the next item
+         *
+         * @param reader the reader the item is read from
+         * @return the item that was read
+         * @throws IOException if the stream could not be read
+         */
+        T read(BoardReader reader) throws IOException;
+    }
+
+    /**
+     * Constructor for a board reader that reads from the provided stream
+     *
+     * @param in the stream the boards are read from
+     */
+    public BoardReader(InputStream in) {
+        this.in = in;
+    }
+
+    /**
+     * checks to see if there is anything left to read other than white space
+     *
+     * @return if there is another board or tray to read
+     * @throws IOException if the stream could not be read
+     */
+    public boolean hasNext() throws IOException {
+        return skipWhiteSpace();
+    }
+
+    /**
+     * reads a board from the stream. The board starts with its size and then
+     * has one token for each square
+     *
+     * @return the board that was read
+     * @throws IOException if the stream could not be read
+     */
+    public Board nextBoard() throws IOException {
+        int size = nextInt();
+        Board board = new Board(size);
+        for (int i = 0; i < size * size; i++) {
+            if (!skipWhiteSpace()) {
+                throw new NoSuchElementException("board ended after " + i
+                        + " squares");
+            }
+            int first = buffer[position++] & 0xFF;
+            int second = read();
+            if (second == -1 || isWhiteSpace(second)) {
+                board.updatePosition(i, (char) first);
+            } else {
+                board.updatePosition(i, multiplier(first), multiplier(second));
+                skipToken();
+            }
+        }
+        return board;
+    }
+
+    /**
+     * reads a tray from the stream and adds each letter of it to a rack.
+     * A '*' is a blank
+     *
+     * @param tray the rack the letters are added to
+     * @return the tray as it was written in the stream
+     * @throws IOException if the stream could not be read
+     */
+    public String nextTray(Rack tray) throws IOException {
+        if (!skipWhiteSpace()) {
+            throw new NoSuchElementException("no tray to read");
+        }
+        StringBuilder letters = new StringBuilder(8);
+        for (int c = read(); c != -1 && !isWhiteSpace(c); c = read()) {
+            tray.add((char) c);
+            letters.append((char) c);
+        }
+        return letters.toString();
+    }
+
+    /**
+     * reads a number that is not negative from the stream
+     *
+     * @return the number that was read
+     * @throws IOException if the stream could not be read
+     */
+    public int nextInt() throws IOException {
+        if (!skipWhiteSpace()) {
+            throw new NoSuchElementException("no number to read");
+        }
+        int value = 0;
+        int digits = 0;
+        for (int c = read(); c != -1 && !isWhiteSpace(c); c = read()) {
+            if (c < '0' || c > '9') {
+                throw new InputMismatchException("expected a number but found '"
+                        + (char) c + "'");
+            }
+            value = value * 10 + c - '0';
+            digits++;
+        }
+        if (digits == 0) {
+            throw new InputMismatchException("expected a number");
+        }
+        return value;
+    }
+
+    /**
+     * makes an iterator that reads one item at a time from the stream until
+     * there is nothing left to read. An item is only read when it is asked
+     * for. An iterator can not throw an IOException so it is thrown as an
+     * UncheckedIOException
+     *
+     * @param item reads one item
+     * @param <T>  the type of the items
+     * @return the iterator of the items
+     */
+    public <T> Iterator<T> items(Item<T> item) {
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                try {
+                    return BoardReader.this.hasNext();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+
+            @Override
+            public T next() {
+                try {
+                    return item.read(BoardReader.this);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        };
+    }
+
+    /**
+     * gets the value of a multiplier character where a dot is no multiplier
+     *
+     * @param c the character of the multiplier
+     * @return the value of the multiplier
+     */
+    private static int multiplier(int c) {
+        if (c == '.') {
+            return 1;
+        } else if (c < '0' || c > '9') {
+            throw new InputMismatchException("expected a multiplier but found '"
+                    + (char) c + "'");
+        }
+        return c - '0';
+    }
+
+    /**
+     * checks to see if a character is white space
+     *
+     * @param c the character being checked
+     * @return if the character is a space, tab or new line
+     */
+    private static boolean isWhiteSpace(int c) {
+        return c == ' ' || c == '\n' || c == '\r' || c == '\t' || c == '\f';
+    }
+
+    /**
+     * moves past the rest of the current token in the stream
+     *
+     * @throws IOException if the stream could not be read
+     */
+    private void skipToken() throws IOException {
+        int c = read();
+        while (c != -1 && !isWhiteSpace(c)) {
+            c = read();
+        }
+    }
+
+    /**
+     * moves past any white space in the stream
+     *
+     * @return if there is something other than white space left
+     * @throws IOException if the stream could not be read
+     */
+    private boolean skipWhiteSpace() throws IOException {
+        while (true) {
+            if (position == limit && !fill()) {
+                return false;
+            }
+            if (!isWhiteSpace(buffer[position])) {
+                return true;
+            }
+            position++;
+        }
+    }
+
+    /**
+     * reads the next byte from the stream
+     *
+     * @return the next byte or -1 if the stream has ended
+     * @throws IOException if the stream could not be read
+     */
+    private int read() throws IOException {
+        if (position == limit && !fill()) {
+            return -1;
+        }
+        return buffer[position++] & 0xFF;
+    }
+
+    /**
+     * reads more of the stream into the buffer
+     *
+     * @return if anything was read
+     * @throws IOException if the stream could not be read
+     */
+    private boolean fill() throws IOException {
+        limit = in.read(buffer, 0, buffer.length);
+        position = 0;
+        if (limit <= 0) {
+            limit = 0;
+            return false;
+        }
+        return true;
+    }
+}
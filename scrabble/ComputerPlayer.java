@@ -1,5 +1,7 @@
 package scrabble;
 
+import java.util.ArrayList;
+
 /**
  * A computer player is a player that automatically takes a move based on the
  * state of the board and the tray using a solver to find the best move possible
@@ -8,6 +10,10 @@ package scrabble;
  */
 public class ComputerPlayer extends Player {
     private Solver solver;
+    private Move lastMove;
+    private long nodes;
+    private MonteCarlo monteCarlo;
+    private Endgame endgame;
 
     /**
      * constructor for a computer player
@@ -19,10 +25,10 @@ public class ComputerPlayer extends Player {
      */
     public ComputerPlayer(Bag bag, Board board, Dictionary dictionary) {
         this.bag = bag;
-        this.board = board;
+        this.board = new Board(board);
         this.dictionary = dictionary;
         buildTray();
-        solver = new Solver(dictionary, board, convertTray());
+        solver = new Solver(dictionary, this.board, convertTray());
     }
 
     /**
@@ -32,7 +38,7 @@ public class ComputerPlayer extends Player {
      */
     public void setBoard(Board board) {
         super.setBoard(board);
-        solver = new Solver(dictionary, board, convertTray());
+        solver = new Solver(dictionary, this.board, convertTray());
     }
 
     /**
@@ -41,18 +47,38 @@ public class ComputerPlayer extends Player {
      * the score and the tray
      * <p>
      * uses the solver to find the best move possible based on the state of
-     * the game and takes that move. The move will always be legal and will
-     * update all bookkeeping of the computer player based on the move take
+     * the game and takes that move or the move picked by the Monte Carlo if
+     * the player has one. Once the bag is empty the move is picked by the
+     * endgame if the player has one. The move will always be legal and will
+     * update all bookkeeping of the computer player based on the move take.
+     * The move is applied to the board instead of making a new board and
+     * if there is no move the board does not change. The score is the one the
+     * solver found and with assertions turned on it is checked by the board
      * @return the output board of a players turn
      */
     @Override
     public Board takeTurn() {
-        solver.findAllOptions();
-        Board temp = solver.getBestMove();
-        score += board.scoreBoard(temp, dictionary);
-        updateTray(board.findAllDifferences(temp));
-        board = new Board(temp.getBoard());
-        //board.printBoard();
+        Move move;
+        if (endgame != null && !bag.hasTilesLeft()) {
+            move = endgame.choose(board, convertTray());
+            nodes += endgame.getNodes();
+        } else if (monteCarlo != null) {
+            move = monteCarlo.choose(board, convertTray());
+            nodes += monteCarlo.getNodes();
+        } else {
+            solver.findAllOptions();
+            nodes += solver.getNodes();
+            move = solver.getBestPlay();
+        }
+        lastMove = move;
+        if (move != null) {
+            assert board.scorePlay(move, dictionary) == move.getScore()
+                    : "the solver scored " + move + " wrong";
+            score += move.getScore();
+            board.apply(move);
+            updateTray(move);
+            solver = new Solver(dictionary, this.board, convertTray());
+        }
         return board;
     }
 
@@ -67,4 +93,65 @@ public class ComputerPlayer extends Player {
         return solver.getBestMove();
     }
 
+    /**
+     * Method that will find the best move and will return it as a move
+     * with the tiles that are placed
+     *
+     * @return the best move or null if there is not one
+     */
+    public Move getBestPlay() {
+        solver.findAllOptions();
+        return solver.getBestPlay();
+    }
+
+    /**
+     * Method that will find the highest scoring moves that can be made
+     *
+     * @param count the number of moves that are wanted
+     * @return the moves from highest to lowest score
+     */
+    public ArrayList<Move> getTopMoves(int count) {
+        return solver.findTopMoves(count);
+    }
+
+    /**
+     * sets the Monte Carlo that picks the moves of this player. If it is
+     * null the highest scoring move is always played
+     *
+     * @param monteCarlo the Monte Carlo used to pick moves
+     */
+    public void setMonteCarlo(MonteCarlo monteCarlo) {
+        this.monteCarlo = monteCarlo;
+    }
+
+    /**
+     * sets the endgame that picks the moves of this player once the bag is
+     * empty. If it is null the moves are picked the same as before the bag
+     * was empty
+     *
+     * @param endgame the endgame used to pick moves
+     */
+    public void setEndgame(Endgame endgame) {
+        this.endgame = endgame;
+    }
+
+    /**
+     * gets the move that was played in the last turn
+     *
+     * @return the last move or null if the player could not make a move
+     */
+    public Move getLastMove() {
+        return lastMove;
+    }
+
+    /**
+     * gets the number of nodes the solver has looked at in every turn
+     * this player has taken
+     *
+     * @return the number of nodes as a long
+     */
+    public long getNodes() {
+        return nodes;
+    }
+
 }
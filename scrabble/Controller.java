@@ -1,6 +1,10 @@
 package scrabble;
 
-import java.util.Scanner;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.util.Iterator;
 
 /**
  * Class that is used to compare an unlimited about of boards and compute
@@ -12,7 +16,9 @@ public class Controller {
     /**
      * Main method to start the program
      * Must have a command line argument that is the directory that is being used
-     * in the rules for computing the score of the two boards
+     * in the rules for computing the score of the two boards. --threads and a
+     * number picks how many pairs are checked at the same time and --timing
+     * adds a line after each pair with how long it took to check
      *
      * @param args command line arguments used to enter a name of a file
      */
@@ -20,13 +26,77 @@ public class Controller {
         if (args.length < 1) {
             System.out.println("Please enter a file name");
         } else {
-            Dictionary dictionary = new Dictionary(args[0]);
+            int threads = Runtime.getRuntime().availableProcessors();
+            boolean timing = false;
+            for (int i = 1; i < args.length; i++) {
+                if (args[i].equals("--threads") && i + 1 < args.length) {
+                    threads = Integer.parseInt(args[++i]);
+                } else if (args[i].equals("--timing")) {
+                    timing = true;
+                }
+            }
+            if (threads < 1) {
+                System.out.println("Please enter at least 1 thread");
+                return;
+            }
+            Dictionary dictionary = DictionaryRegistry.acquire(args[0]);
             //System.out.println(dictionary.getWords().isWord("at"));
-            Scanner sc = new Scanner(System.in);
-            while (sc.hasNext()) {
-                Board.getPairOfBoards(dictionary, sc);
+            try {
+                judgeAll(dictionary, threads, timing, System.in, System.out);
+            } catch (IOException e) {
+                System.out.println(e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
             }
+            DictionaryRegistry.release(dictionary);
+        }
+    }
+
+    /**
+     * Checks every pair of boards in the input on a pool of workers and
+     * writes the results in the same order the pairs were read. The pairs
+     * are read as they are needed by Pipeline.ordered so the whole input is
+     * never in memory at once
+     *
+     * @param dictionary the dictionary used to check every pair
+     * @param threads    the number of pairs checked at the same time
+     * @param timing     if a line with the time it took to check each pair
+     *                   is added after it
+     * @param in         where the pairs of boards are read from
+     * @param out        where the results are written to
+     * @throws IOException          if the results could not be written
+     * @throws InterruptedException if the thread was interrupted while
+     *                              waiting for a result
+     */
+    public static void judgeAll(Dictionary dictionary, int threads, boolean timing,
+                                InputStream in, OutputStream out)
+            throws IOException, InterruptedException {
+        Iterator<Board[]> pairs = new BoardReader(in).items(reader ->
+                new Board[] {Board.readInputBoard(reader), Board.readInputBoard(reader)});
+        Pipeline.ordered(pairs, pair -> judge(dictionary, pair[0], pair[1], timing),
+                threads, new OutputStreamWriter(out));
+    }
+
+    /**
+     * Checks one pair of boards and makes the text of the result in the same
+     * form as Board.getPairOfBoards prints it
+     *
+     * @param dictionary the dictionary used to check the pair
+     * @param original   the board before the move
+     * @param result     the board after the move
+     * @param timing     if a line with the time it took is added
+     * @return the result of the pair
+     */
+    private static String judge(Dictionary dictionary, Board original,
+                                Board result, boolean timing) {
+        long start = System.nanoTime();
+        StringBuilder text = new StringBuilder(2048);
+        original.appendPair(result, dictionary, text);
+        if (timing) {
+            text.append("checked in ").append((System.nanoTime() - start) / 1000)
+                    .append(" us\n");
         }
+        return text.toString();
     }
 
 }
@@ -0,0 +1,176 @@
+package scrabble;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.IntBuffer;
+
+/**
+ * A DAWG (directed acyclic word graph) is a prefix tree where every part of
+ * the tree that is the same is only stored once. It is stored as one array of
+ * ints where each int is an edge. An edge has the letter it is for, if the
+ * letters on the path to it spell a word, if it is the last child of its node
+ * and the index of the first edge of the children it leads to. The children
+ * of a node are next to each other in the array in alphabetical order.
+ * <p>
+ * A node is used by the index of the edge that leads to it. The root is
+ * the edge at index 0. Used for both the list of words and the GADDAG.
+ * The edges can be in memory or in a file that is memory mapped
+ *
+ * @author Logan Nunno
+ */
+public class Dawg {
+    /**
+     * the character used to mark the switch from building a word
+     * backwards to building it forwards in a GADDAG
+     */
+    public static final char SEPARATOR = '{';
+    /**
+     * the value used when a node does not have a child
+     */
+    public static final int NONE = -1;
+    static final int LETTER_MASK = (1 << 5) - 1;
+    static final int WORD = 1 << 5;
+    static final int LAST = 1 << 6;
+    static final int TARGET_SHIFT = 7;
+    private IntBuffer edges;
+
+    /**
+     * Constructor for a dawg from the buffer of edges
+     *
+     * @param edges the edges of the dawg with the root at index 0
+     */
+    Dawg(IntBuffer edges) {
+        this.edges = edges;
+    }
+
+    /**
+     * gets the root of the dawg
+     *
+     * @return the root node
+     */
+    public int root() {
+        return 0;
+    }
+
+    /**
+     * gets the first child of a node
+     *
+     * @param node the node we are getting the child of
+     * @return the first child or NONE if the node has no children
+     */
+    public int firstChild(int node) {
+        int target = edges.get(node) >>> TARGET_SHIFT;
+        return target == 0 ? NONE : target;
+    }
+
+    /**
+     * gets the next child of the same node after the provided child
+     *
+     * @param child the child we are moving on from
+     * @return the next child or NONE if it was the last child
+     */
+    public int nextChild(int child) {
+        return (edges.get(child) & LAST) != 0 ? NONE : child + 1;
+    }
+
+    /**
+     * gets the index in the alphabet of the letter of a child. The separator
+     * is the letter after z
+     *
+     * @param child the child we are getting the letter of
+     * @return the index of the letter
+     */
+    public int letter(int child) {
+        return edges.get(child) & LETTER_MASK;
+    }
+
+    /**
+     * gets the child of a node for the index of a letter in the alphabet
+     *
+     * @param node   the node we are getting the child of
+     * @param letter the index of the letter
+     * @return the child or NONE if there is no child for that letter
+     */
+    public int findChild(int node, int letter) {
+        for (int child = firstChild(node); child != NONE; child = nextChild(child)) {
+            int current = letter(child);
+            if (current == letter) {
+                return child;
+            } else if (current > letter) {
+                return NONE;
+            }
+        }
+        return NONE;
+    }
+
+    /**
+     * given a char return the child of the node for that letter.
+     * Upper case letters are treated as lower case by setting the bit that
+     * makes an ascii letter lower case, so the letters of the board can be
+     * looked up without being changed first
+     *
+     * @param node the node we are getting the child of
+     * @param c    char that we are getting the child of
+     * @return the child or NONE if there is no child for that letter
+     */
+    public int getChild(int node, char c) {
+        return findChild(node, (c | 0x20) - 'a');
+    }
+
+    /**
+     * gets if the path to a node spells a word
+     *
+     * @param node the node being checked
+     * @return if the node is a word or not
+     */
+    public boolean isWord(int node) {
+        return node != NONE && (edges.get(node) & WORD) != 0;
+    }
+
+    /**
+     * get the node of the ending of the provided word or provided part
+     * of the word
+     *
+     * @param word the word that we are getting the node for
+     * @return the node of the last letter of the word or NONE if it
+     * is not in the dawg
+     */
+    public int lookUp(String word) {
+        int node = root();
+        for (int i = 0; i < word.length() && node != NONE; i++) {
+            node = getChild(node, word.charAt(i));
+        }
+        return node;
+    }
+
+    /**
+     * check to see if a provided word is a word in the word list
+     *
+     * @param word the word that is being checked
+     * @return if the provided word is in our word list or not
+     */
+    public boolean isWord(String word) {
+        return isWord(lookUp(word));
+    }
+
+    /**
+     * gets the number of edges in the dawg
+     *
+     * @return the number of edges
+     */
+    public int size() {
+        return edges.limit();
+    }
+
+    /**
+     * writes all of the edges of the dawg to the provided stream
+     *
+     * @param out the stream the edges are written to
+     * @throws IOException if the edges could not be written
+     */
+    public void write(DataOutputStream out) throws IOException {
+        for (int i = 0; i < edges.limit(); i++) {
+            out.writeInt(edges.get(i));
+        }
+    }
+}
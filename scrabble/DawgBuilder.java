@@ -0,0 +1,184 @@
+package scrabble;
+
+import java.nio.IntBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+
+/**
+ * A dawg builder is used to build a DAWG from words that are added in sorted
+ * order. After each word is added the part of the previous word that is not
+ * shared with it can not change anymore so it is compared to the nodes that
+ * were already finished and replaced with one that is the same if there is
+ * one. This keeps the tree as small as possible while it is being built.
+ * Based on "Incremental Construction of Minimal Acyclic Finite-State Automata"
+ * by Jan Daciuk, Stoyan Mihov, Bruce Watson and Richard Watson
+ *
+ * @author Logan Nunno
+ */
+public class DawgBuilder {
+    private State root = new State();
+    private HashMap<State, State> register = new HashMap<>();
+    private ArrayList<State> path = new ArrayList<>();
+    private String previous = "";
+
+    /**
+     * Constructor for an empty dawg builder
+     */
+    public DawgBuilder() {
+        path.add(root);
+    }
+
+    /**
+     * adds a word to the dawg. Words must be added in sorted order and
+     * a word that is the same as the last one is skipped. The letters must
+     * be lower case or the separator
+     *
+     * @param word the word being added
+     */
+    public void add(String word) {
+        int compare = word.compareTo(previous);
+        if (compare < 0) {
+            throw new IllegalArgumentException("words must be added in sorted order: "
+                    + previous + " then " + word);
+        } else if (compare == 0 || word.isEmpty()) {
+            return;
+        }
+        int common = 0;
+        while (common < word.length() && common < previous.length()
+                && word.charAt(common) == previous.charAt(common)) {
+            common++;
+        }
+        minimize(common);
+        State state = path.get(common);
+        for (int i = common; i < word.length(); i++) {
+            State next = new State();
+            state.addChild(word.charAt(i) - 'a', next);
+            path.add(next);
+            state = next;
+        }
+        state.isWord = true;
+        previous = word;
+    }
+
+    /**
+     * Finishes the dawg and turns it into the array of edges
+     *
+     * @return the dawg of all the words that were added
+     */
+    public Dawg build() {
+        minimize(0);
+        IdentityHashMap<State, Integer> offsets = new IdentityHashMap<>();
+        ArrayDeque<State> queue = new ArrayDeque<>();
+        int size = 1;
+        if (root.count > 0) {
+            offsets.put(root, size);
+            queue.add(root);
+            size += root.count;
+        }
+        ArrayList<State> order = new ArrayList<>();
+        while (!queue.isEmpty()) {
+            State state = queue.poll();
+            order.add(state);
+            for (int i = 0; i < state.count; i++) {
+                State child = state.children[i];
+                if (child.count > 0 && !offsets.containsKey(child)) {
+                    offsets.put(child, size);
+                    queue.add(child);
+                    size += child.count;
+                }
+            }
+        }
+        if (size >= 1 << (32 - Dawg.TARGET_SHIFT)) {
+            throw new IllegalStateException("too many edges for a dawg: " + size);
+        }
+        int[] edges = new int[size];
+        edges[0] = Dawg.LAST | (root.isWord ? Dawg.WORD : 0)
+                | (offsets.getOrDefault(root, 0) << Dawg.TARGET_SHIFT);
+        for (State state : order) {
+            int offset = offsets.get(state);
+            for (int i = 0; i < state.count; i++) {
+                State child = state.children[i];
+                edges[offset + i] = state.letters[i]
+                        | (child.isWord ? Dawg.WORD : 0)
+                        | (i == state.count - 1 ? Dawg.LAST : 0)
+                        | (offsets.getOrDefault(child, 0) << Dawg.TARGET_SHIFT);
+            }
+        }
+        return new Dawg(IntBuffer.wrap(edges));
+    }
+
+    /**
+     * replaces the nodes of the previous word after the provided length
+     * with the same nodes that were already finished or registers them as
+     * finished if there is not one that is the same
+     *
+     * @param length the number of letters of the previous word to keep
+     */
+    private void minimize(int length) {
+        for (int i = path.size() - 1; i > length; i--) {
+            State child = path.get(i);
+            State existing = register.get(child);
+            if (existing != null) {
+                path.get(i - 1).children[path.get(i - 1).count - 1] = existing;
+            } else {
+                register.put(child, child);
+            }
+            path.remove(i);
+        }
+    }
+
+    /**
+     * A node of the dawg while it is being built. Two states are equal if
+     * they are both words or both not and they have the same children
+     */
+    private static class State {
+        private int[] letters = new int[2];
+        private State[] children = new State[2];
+        private int count;
+        private boolean isWord;
+
+        /**
+         * adds a child to the end of the children of the state
+         *
+         * @param letter index of the letter of the child
+         * @param child  the child state
+         */
+        private void addChild(int letter, State child) {
+            if (count == letters.length) {
+                letters = Arrays.copyOf(letters, count * 2);
+                children = Arrays.copyOf(children, count * 2);
+            }
+            letters[count] = letter;
+            children[count] = child;
+            count++;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof State other) || isWord != other.isWord
+                    || count != other.count) {
+                return false;
+            }
+            for (int i = 0; i < count; i++) {
+                if (letters[i] != other.letters[i]
+                        || children[i] != other.children[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public int hashCode() {
+            int hash = isWord ? 1 : 0;
+            for (int i = 0; i < count; i++) {
+                hash = hash * 31 + letters[i];
+                hash = hash * 31 + System.identityHashCode(children[i]);
+            }
+            return hash;
+        }
+    }
+}
@@ -1,44 +1,255 @@
 package scrabble;
 
+import java.io.BufferedOutputStream;
 import java.io.BufferedReader;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
 import java.io.FileReader;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
 
 /**
  * A dictionary is a file that is used to read in and store the words that are used
  * to play the game of scrabble
+ * <p>
+ * The file can either be a list of words with one word on each line or a
+ * compiled dictionary made by the main method of this class. A compiled
+ * dictionary has the DAWG and the GADDAG already built and is memory mapped
+ * instead of being read so it is ready right away and every program that
+ * opens the same file shares the same memory
  *
  * @author Logan Nunno
  */
 public class Dictionary {
+    private static final int MAGIC = 0x44415747;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 4 * Integer.BYTES;
 
-    private TrieNode words = new TrieNode();
+    private Dawg words;
+    private Dawg gaddag;
+    private WordIndex index;
 
     /**
-     * The constructor for the dictonary that takes in a path and builds and
-     * Trie based on all of the words that are inside of the file that was
-     * provided into the path
+     * The constructor for the dictonary that takes in a path and builds a
+     * DAWG based on all of the words that are inside of the file that was
+     * provided into the path. If the file is a compiled dictionary it is
+     * memory mapped instead. A compiled dictionary that can not be mapped is
+     * never read as a list of words since its edges are not words
      *
      * @param path the file path for the words that will be added to the dictionary
+     * @throws UncheckedIOException if the file is a compiled dictionary that
+     *                              could not be mapped
      */
     public Dictionary(String path) {
-
+        boolean compiled = false;
+        try {
+            compiled = isCompiled(path);
+        } catch (IOException e) {
+            System.out.println(e);
+        }
+        if (compiled) {
+            try {
+                mapCompiled(path);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return;
+        }
+        ArrayList<String> lines = new ArrayList<>();
         try (BufferedReader br = new BufferedReader(new FileReader(path))) {
             String line;
             while ((line = br.readLine()) != null) {
-                words.add(line.toLowerCase().trim());
+                lines.add(line.toLowerCase().trim());
             }
         } catch (IOException e) {
             System.out.println(e);
         }
+        Collections.sort(lines);
+        DawgBuilder builder = new DawgBuilder();
+        for (String word : lines) {
+            builder.add(word);
+        }
+        words = builder.build();
+    }
+
+    /**
+     * checks to see if the file at the path is a compiled dictionary by
+     * checking the first int of the file
+     *
+     * @param path the path of the file
+     * @return if the file is a compiled dictionary
+     * @throws IOException if the file could not be read
+     */
+    private static boolean isCompiled(String path) throws IOException {
+        try (FileChannel channel = FileChannel.open(Path.of(path))) {
+            if (channel.size() < HEADER_SIZE) {
+                return false;
+            }
+            ByteBuffer header = ByteBuffer.allocate(Integer.BYTES);
+            channel.read(header, 0);
+            return header.getInt(0) == MAGIC;
+        }
+    }
+
+    /**
+     * memory maps the dawg and the gaddag of a compiled dictionary. The header
+     * is the magic number, the version, the number of edges in the dawg and
+     * the number of edges in the gaddag. Then the edges of the dawg and the
+     * edges of the gaddag. The file must be long enough for the number of
+     * edges in the header so a file that was cut short is not mapped
+     *
+     * @param path the path of the compiled dictionary
+     * @throws IOException if the file could not be mapped, is not the
+     *                     right version or is shorter than its header says
+     */
+    private void mapCompiled(String path) throws IOException {
+        try (FileChannel channel = FileChannel.open(Path.of(path))) {
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY,
+                    0, HEADER_SIZE);
+            if (header.getInt(Integer.BYTES) != VERSION) {
+                throw new IOException("unsupported dictionary version "
+                        + header.getInt(Integer.BYTES) + " in " + path);
+            }
+            long wordEdges = header.getInt(2 * Integer.BYTES);
+            long gaddagEdges = header.getInt(3 * Integer.BYTES);
+            if (wordEdges <= 0 || gaddagEdges < 0 || HEADER_SIZE
+                    + (wordEdges + gaddagEdges) * Integer.BYTES > channel.size()) {
+                throw new IOException("dictionary " + path + " has " + channel.size()
+                        + " bytes but its header has " + wordEdges + " and "
+                        + gaddagEdges + " edges");
+            }
+            words = new Dawg(channel.map(FileChannel.MapMode.READ_ONLY,
+                    HEADER_SIZE, wordEdges * Integer.BYTES).asIntBuffer());
+            gaddag = new Dawg(channel.map(FileChannel.MapMode.READ_ONLY,
+                    HEADER_SIZE + wordEdges * Integer.BYTES,
+                    gaddagEdges * Integer.BYTES).asIntBuffer());
+        }
+    }
+
+    /**
+     * writes the dictionary as a compiled dictionary to the provided path.
+     * The GADDAG is built if it has not been already
+     *
+     * @param path the path the compiled dictionary is written to
+     * @throws IOException if the file could not be written
+     */
+    public void save(String path) throws IOException {
+        getGaddag();
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                new FileOutputStream(path)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(words.size());
+            out.writeInt(gaddag.size());
+            words.write(out);
+            gaddag.write(out);
+        }
     }
 
     /**
-     * Gets the root of the Trie for the dictionary
+     * Gets the DAWG of the words in the dictionary
      *
-     * @return the root of the trie
+     * @return the dawg of the words
      */
-    public TrieNode getWords() {
+    public Dawg getWords() {
         return words;
     }
+
+    /**
+     * Gets the GADDAG for the dictionary. The GADDAG has every word once for
+     * each place it can be split. The part before the split is reversed then
+     * there is a separator and then the rest of the word. It is only
+     * built the first time it is asked for since it is much bigger than the
+     * dawg of the words and is only needed by the GADDAG solver.
+     * The splits are made one letter at a time for the letter right before
+     * the split so only the ones that start with the same letter are sorted
+     * at the same time
+     *
+     * @return the gaddag
+     */
+    public synchronized Dawg getGaddag() {
+        if (gaddag == null) {
+            DawgBuilder builder = new DawgBuilder();
+            for (int letter = 0; letter < 26; letter++) {
+                ArrayList<String> splits = new ArrayList<>();
+                addSplits(words.root(), new StringBuilder(), letter, splits);
+                Collections.sort(splits);
+                for (String split : splits) {
+                    builder.add(split);
+                }
+            }
+            gaddag = builder.build();
+        }
+        return gaddag;
+    }
+
+    /**
+     * Gets the index used to find anagrams and words that fit a pattern. It
+     * is only built the first time it is asked for
+     *
+     * @return the word index
+     */
+    public synchronized WordIndex getIndex() {
+        if (index == null) {
+            index = new WordIndex(this);
+        }
+        return index;
+    }
+
+    /**
+     * walks the dawg and adds every split of every word where the letter
+     * before the split is the provided letter
+     *
+     * @param node        the current node of the dawg
+     * @param partialWord the letters on the path to the current node
+     * @param letter      index of the letter that must come before the split
+     * @param splits      the list the splits are added to
+     */
+    private void addSplits(int node, StringBuilder partialWord, int letter,
+                           ArrayList<String> splits) {
+        if (words.isWord(node)) {
+            for (int i = 1; i <= partialWord.length(); i++) {
+                if (partialWord.charAt(i - 1) - 'a' == letter) {
+                    StringBuilder split = new StringBuilder(partialWord.length() + 1);
+                    split.append(partialWord, 0, i).reverse();
+                    if (i < partialWord.length()) {
+                        split.append(Dawg.SEPARATOR)
+                                .append(partialWord, i, partialWord.length());
+                    }
+                    splits.add(split.toString());
+                }
+            }
+        }
+        for (int child = words.firstChild(node); child != Dawg.NONE;
+             child = words.nextChild(child)) {
+            partialWord.append((char) ('a' + words.letter(child)));
+            addSplits(child, partialWord, letter, splits);
+            partialWord.deleteCharAt(partialWord.length() - 1);
+        }
+    }
+
+    /**
+     * Main method used to compile a list of words into a compiled dictionary
+     * that can be memory mapped. Needs the path of the list of words and the
+     * path the compiled dictionary is written to
+     *
+     * @param args command line arguments
+     */
+    public static void main(String[] args) {
+        if (args.length < 2) {
+            System.out.println("Please enter a word list and an output file name");
+        } else {
+            try {
+                new Dictionary(args[0]).save(args[1]);
+            } catch (IOException e) {
+                System.out.println(e);
+            }
+        }
+    }
 }
@@ -0,0 +1,172 @@
+package scrabble;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+
+/**
+ * A registry that is used to share dictionaries so every game, player and
+ * solver that uses the same word list uses the same dictionary instead of
+ * each loading its own copy. Dictionaries are found by the path, the size
+ * and the time the file was last changed so if the file changes a new
+ * dictionary is loaded. The contents of the file are not read to find it so
+ * a compiled dictionary is still only mapped and not read. A dictionary is
+ * only loaded the first time it is asked for and it is kept until it has
+ * been released by everything that asked for it. A few
+ * dictionaries that are not being used are kept in case they are asked for
+ * again, after that the one that has not been used the longest is removed.
+ * All methods are safe to call from more than one thread
+ *
+ * @author Logan Nunno
+ */
+public class DictionaryRegistry {
+    private static final int MAX_UNUSED = 2;
+    private static final HashMap<String, Entry> entries = new HashMap<>();
+    private static final IdentityHashMap<Dictionary, Entry> loaded =
+            new IdentityHashMap<>();
+    private static final LinkedHashSet<Entry> unused = new LinkedHashSet<>();
+
+    /**
+     * Gets the dictionary for the file at the provided path. If it has not
+     * been loaded yet it is loaded by this thread and any other thread asking
+     * for the same file waits for it. Each dictionary that is asked for should
+     * be released when it is not needed anymore. If the dictionary could
+     * not be loaded nothing is kept for it so it is loaded again next time
+     *
+     * @param path the path of the word list or compiled dictionary
+     * @return the shared dictionary for the file
+     * @throws java.io.UncheckedIOException if the file is a compiled
+     *                                      dictionary that could not be mapped
+     */
+    public static Dictionary acquire(String path) {
+        File current = new File(path).getAbsoluteFile();
+        String file = current.getPath();
+        String key = file + ":" + current.length() + ":" + current.lastModified();
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.get(key);
+            if (entry == null) {
+                entry = new Entry(key, file);
+                entries.put(key, entry);
+                evictOldVersions(entry);
+            }
+            entry.references++;
+            unused.remove(entry);
+        }
+        try {
+            return entry.load();
+        } catch (RuntimeException e) {
+            synchronized (entries) {
+                entry.references--;
+                if (entry.references == 0 && entry.dictionary == null) {
+                    remove(entry);
+                }
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Releases a dictionary that was given by acquire. Once everything that
+     * asked for it has released it, it can be removed from the registry
+     *
+     * @param dictionary the dictionary that is not needed anymore
+     */
+    public static void release(Dictionary dictionary) {
+        synchronized (entries) {
+            Entry entry = loaded.get(dictionary);
+            if (entry == null || entry.references == 0) {
+                return;
+            }
+            entry.references--;
+            if (entry.references == 0) {
+                unused.add(entry);
+                while (unused.size() > MAX_UNUSED) {
+                    remove(unused.iterator().next());
+                }
+            }
+        }
+    }
+
+    /**
+     * gets the number of dictionaries that are in the registry
+     *
+     * @return the number of dictionaries
+     */
+    public static int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * removes the dictionaries of the same file that are for an old version
+     * of the file and are not being used anymore
+     *
+     * @param entry the entry of the newest version of the file
+     */
+    private static void evictOldVersions(Entry entry) {
+        ArrayList<Entry> old = new ArrayList<>();
+        for (Entry current : unused) {
+            if (current.file.equals(entry.file)) {
+                old.add(current);
+            }
+        }
+        for (Entry current : old) {
+            remove(current);
+        }
+    }
+
+    /**
+     * removes an entry from the registry
+     *
+     * @param entry the entry that is removed
+     */
+    private static void remove(Entry entry) {
+        unused.remove(entry);
+        entries.remove(entry.key);
+        if (entry.dictionary != null) {
+            loaded.remove(entry.dictionary);
+        }
+    }
+
+    /**
+     * An entry of the registry for one version of one file
+     */
+    private static class Entry {
+        private final String key;
+        private final String file;
+        private Dictionary dictionary;
+        private int references;
+
+        /**
+         * Constructor for an entry that has not been loaded
+         *
+         * @param key  the path, size and time the file was changed
+         * @param file the absolute path of the file
+         */
+        private Entry(String key, String file) {
+            this.key = key;
+            this.file = file;
+        }
+
+        /**
+         * gets the dictionary of the entry and loads it if it has not
+         * been loaded yet
+         *
+         * @return the dictionary of the entry
+         */
+        private synchronized Dictionary load() {
+            if (dictionary == null) {
+                Dictionary loading = new Dictionary(file);
+                synchronized (entries) {
+                    dictionary = loading;
+                    loaded.put(dictionary, this);
+                }
+            }
+            return dictionary;
+        }
+    }
+}
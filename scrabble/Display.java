@@ -13,10 +13,10 @@ import javafx.scene.text.Font;
 import javafx.scene.text.FontWeight;
 import javafx.stage.Stage;
 
-import java.io.File;
-import java.io.FileNotFoundException;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.ArrayList;
-import java.util.Scanner;
 
 /**
  * Display class that extends Application to launch a javaFx screen
@@ -34,7 +34,8 @@ public class Display extends Application {
     private GridPane grid;
     private HBox tray;
     private BorderPane root;
-    private Dictionary dictionary = new Dictionary("resources/sowpods.txt");
+    private Dictionary dictionary =
+            DictionaryRegistry.acquire("resources/sowpods.txt");
 
     /**
      * Constructor for making a display
@@ -43,10 +44,9 @@ public class Display extends Application {
      */
     public Display() {
         bag = new Bag();
-        try {
-            board = Board.readInputBoard(
-                    new Scanner(new File("resources/scrabble_board.txt")));
-        } catch (FileNotFoundException e) {
+        try (InputStream in = new FileInputStream("resources/scrabble_board.txt")) {
+            board = Board.readInputBoard(new BoardReader(in));
+        } catch (IOException e) {
             throw new RuntimeException(e);
         }
         humanPlayer = new HumanPlayer(bag, board, dictionary);
@@ -90,6 +90,15 @@ public class Display extends Application {
         stage.show();
     }
 
+    /**
+     * Stops the GUI and releases the dictionary that was shared with the
+     * players
+     */
+    @Override
+    public void stop() {
+        DictionaryRegistry.release(dictionary);
+    }
+
     /**
      * refreshes all aspects of the root of the display
      */
@@ -132,7 +141,7 @@ public class Display extends Application {
             Board temp = this.humanPlayer.takeTurn();
             if (temp != null) {
                 computerPlayer.setBoard(temp);
-                board = new Board(temp.getBoard());
+                board = new Board(temp);
                 isGameOver(false, false);
                 isGameOver(true, false);
                 this.board = computerPlayer.takeTurn();
@@ -245,10 +254,11 @@ public class Display extends Application {
      */
     private void updateBoard() {
         this.grid.getChildren().clear();
-        BoardSquare[][] temp = this.humanPlayer.getMidMoveBoard().getBoard();
+        Board midMoveBoard = this.humanPlayer.getMidMoveBoard();
+        BoardSquare[][] temp = midMoveBoard.getBoard();
         for (int i = 0; i < temp.length; i++) {
             for (int j = 0; j < temp[i].length; j++) {
-                if (this.humanPlayer.getMidMoveBoard().hasLetter(i, j)) {
+                if (midMoveBoard.hasLetter(i, j)) {
                     this.grid.add(buildTile(new Tile(temp[i][j].getLetter()),
                             false), j, i);
                 } else {
@@ -275,18 +285,24 @@ public class Display extends Application {
                 ((humanPlayer.getNumberOfTilesInHand() == 0
                         || computerPlayer.getNumberOfTilesInHand() == 0))) {
             showGameOverMessage();
-        } else if (humanCheck &&
-                !board.isLegalPlay(board.findAllDifferences(moveChecker
-                        .getBestMove()), dictionary, moveChecker.getBestMove())) {
+        } else if (humanCheck && !hasLegalPlay(moveChecker.getBestPlay())) {
             showGameOverMessage();
 
-        } else if (!humanCheck &&
-                !board.isLegalPlay(board.findAllDifferences(computerPlayer.
-                        getBestMove()), dictionary, computerPlayer.getBestMove())) {
+        } else if (!humanCheck && !hasLegalPlay(computerPlayer.getBestPlay())) {
             showGameOverMessage();
         }
     }
 
+    /**
+     * checks to see if a move that was found can be played on the board
+     *
+     * @param move the best move that was found or null if there was not one
+     * @return if the move is legal
+     */
+    private boolean hasLegalPlay(Move move) {
+        return move != null && board.isLegalPlay(move, dictionary);
+    }
+
     /**
      * Shows a pop up for when the game is over and who will when
      */
@@ -0,0 +1,351 @@
+package scrabble;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+
+/**
+ * An endgame finds the best move once the bag is empty. Then the tray of the
+ * opponent is known since it is every tile that has not been seen, so the
+ * rest of the game can be searched move by move for both players. The search
+ * is negamax with alpha beta pruning where the value of a position is the
+ * spread the player to move can get from there. It is run again one move
+ * deeper each time until the game is searched to the end or the time runs
+ * out, and the best move of the last search that finished is played.
+ * <p>
+ * Every move of each position and passing are looked at, so a search that
+ * reaches the end of the game plays perfectly. The moves are looked at from
+ * highest to lowest score with the best move of the last search first so
+ * alpha beta can skip most of them. A width can be given to only look at the
+ * highest scoring moves, which is faster but can miss the best line. A
+ * transposition table keeps the value, the best move and the moves of each
+ * position that was searched so a position reached again or searched again
+ * one move deeper does not need its moves found again. With assertions
+ * turned on and no width a search that reaches the end of the game is
+ * checked against a search of every move with no window, as long as that
+ * search does not have too many positions to finish quickly
+ *
+ * @author Logan Nunno
+ */
+public class Endgame {
+    private static final int MAX_DEPTH = 32;
+    private static final int MAX_ENTRIES = 1 << 20;
+    private static final int EXACT = 0;
+    private static final int LOWER = 1;
+    private static final int UPPER = 2;
+    private static final int INFINITY = 1 << 20;
+    private static final int MAX_CHECKED = 1 << 12;
+    private static final long PASSED = 0x9E3779B97F4A7C15L;
+    private static final int[] LETTER_SCORES = new int[26];
+
+    static {
+        for (int i = 0; i < LETTER_SCORES.length; i++) {
+            LETTER_SCORES[i] = new Tile((char) ('a' + i)).getScore();
+        }
+    }
+
+    private Dictionary dictionary;
+    private Solver.Engine engine;
+    private int width;
+    private long limitNanos;
+    private long deadline;
+    private int iteration;
+    private HashMap<Long, Entry> table = new HashMap<>();
+    private boolean cut;
+    private long nodes;
+    private int depth;
+    private int checked;
+
+    /**
+     * Constructor for an endgame
+     *
+     * @param dictionary  the list of words that are valid
+     * @param width       the number of the highest scoring moves looked at
+     *                    in each position or 0 to look at every move
+     * @param limitMillis how long the search can take for each move
+     */
+    public Endgame(Dictionary dictionary, int width, long limitMillis) {
+        this.dictionary = dictionary;
+        this.width = width;
+        this.limitNanos = limitMillis * 1_000_000;
+        this.engine = Solver.Engine.TRIE;
+    }
+
+    /**
+     * What the transposition table keeps for a position
+     */
+    private static class Entry {
+        private ArrayList<Move> moves;
+        private int depth = -1;
+        private int value;
+        private int flag;
+        private int best;
+        private boolean complete;
+    }
+
+    /**
+     * Thrown when the time runs out in the middle of a search
+     */
+    @SuppressWarnings("serial")
+    private static class Timeout extends RuntimeException {
+        /**
+         * Constructor for a timeout that does not fill in its stack trace
+         * since it is thrown often and never printed
+         */
+        private Timeout() {
+            super(null, null, false, false);
+        }
+    }
+
+    /**
+     * Finds the best move of the player once the bag is empty. The tray of
+     * the opponent is every tile that the player has not seen
+     *
+     * @param board the board the move is played on
+     * @param tray  the tray of the player
+     * @return the best move or null if passing is best
+     */
+    public Move choose(Board board, Rack tray) {
+        Rack opponent = new Rack(String.valueOf(Bag.unseen(board, tray)));
+        return choose(new FlatBoard(board), tray, opponent);
+    }
+
+    /**
+     * Finds the best move of a player when the trays of both players are
+     * known. The search one move deep is always finished even if the time
+     * runs out
+     *
+     * @param board    the board the move is played on
+     * @param tray     the tray of the player
+     * @param opponent the tray of the opponent
+     * @return the best move or null if passing is best
+     */
+    public Move choose(FlatBoard board, Rack tray, Rack opponent) {
+        table.clear();
+        nodes = 0;
+        depth = 0;
+        deadline = System.nanoTime() + limitNanos;
+        Move best = null;
+        for (iteration = 1; iteration <= MAX_DEPTH; iteration++) {
+            cut = false;
+            int value;
+            try {
+                value = negamax(board, tray, opponent, iteration, -INFINITY,
+                        INFINITY, false);
+            } catch (Timeout e) {
+                break;
+            }
+            assert cut || width > 0 || matchesFullWindow(board, tray, opponent, value)
+                    : "alpha beta value " + value + " is not the full window value";
+            Entry root = table.get(key(board, tray, opponent, false));
+            best = root.best < root.moves.size() ? root.moves.get(root.best) : null;
+            depth = iteration;
+            if (!cut || System.nanoTime() > deadline) {
+                break;
+            }
+        }
+        table.clear();
+        return best;
+    }
+
+    /**
+     * gets the number of nodes the solvers looked at to find the moves of
+     * every position in the last choice
+     *
+     * @return the number of nodes
+     */
+    public long getNodes() {
+        return nodes;
+    }
+
+    /**
+     * gets how many moves deep the last search that finished went
+     *
+     * @return the depth in moves of both players
+     */
+    public int getDepth() {
+        return depth;
+    }
+
+    /**
+     * Finds the value of a position for the player to move. A player that
+     * uses all of their tiles ends the game and gets the score of the tiles
+     * of the other player added to their score and taken from the other
+     * player. If both players pass in a row the game ends and each player
+     * loses the score of their own tiles
+     *
+     * @param board    the board of the position
+     * @param tray     the tray of the player to move
+     * @param opponent the tray of the other player
+     * @param depth    how many more moves are searched
+     * @param alpha    the value the player to move already has
+     * @param beta     the value the other player already has
+     * @param passed   if the other player passed in the last move
+     * @return the value of the position
+     */
+    private int negamax(FlatBoard board, Rack tray, Rack opponent, int depth,
+                        int alpha, int beta, boolean passed) {
+        if (iteration > 1 && System.nanoTime() > deadline) {
+            throw new Timeout();
+        }
+        if (depth == 0) {
+            cut = true;
+            return 0;
+        }
+        long key = key(board, tray, opponent, passed);
+        Entry entry = table.get(key);
+        if (entry == null) {
+            entry = new Entry();
+            Solver solver = new Solver(dictionary, board, new Rack(tray), engine);
+            entry.moves = solver.findTopMoves(width > 0 ? width : Integer.MAX_VALUE);
+            nodes += solver.getNodes();
+            if (table.size() < MAX_ENTRIES) {
+                table.put(key, entry);
+            }
+        } else if (entry.depth >= depth || entry.complete) {
+            if (entry.flag == EXACT) {
+                cut |= !entry.complete;
+                return entry.value;
+            } else if (entry.flag == LOWER) {
+                alpha = Math.max(alpha, entry.value);
+            } else {
+                beta = Math.min(beta, entry.value);
+            }
+            if (alpha >= beta) {
+                cut |= !entry.complete;
+                return entry.value;
+            }
+        }
+        boolean outerCut = cut;
+        cut = false;
+        int start = alpha;
+        int bestValue = -INFINITY;
+        int best = entry.best;
+        int count = entry.moves.size();
+        for (int i = 0; i <= count && alpha < beta; i++) {
+            int index = i == 0 ? entry.best : (i <= entry.best ? i - 1 : i);
+            int value;
+            if (index == count) {
+                value = passed ? score(opponent) - score(tray)
+                        : -negamax(board, opponent, tray, depth - 1, -beta,
+                        -alpha, true);
+            } else {
+                Move move = entry.moves.get(index);
+                Rack leave = new Rack(move.getLeave());
+                if (leave.isEmpty()) {
+                    value = move.getScore() + 2 * score(opponent);
+                } else {
+                    FlatBoard next = new FlatBoard(board);
+                    next.apply(move);
+                    value = move.getScore() - negamax(next, opponent, leave,
+                            depth - 1, move.getScore() - beta,
+                            move.getScore() - alpha, false);
+                }
+            }
+            if (value > bestValue) {
+                bestValue = value;
+                best = index;
+            }
+            alpha = Math.max(alpha, value);
+        }
+        entry.depth = depth;
+        entry.value = bestValue;
+        entry.best = best;
+        entry.flag = bestValue <= start ? UPPER : bestValue >= beta ? LOWER : EXACT;
+        entry.complete = !cut;
+        cut |= outerCut;
+        return bestValue;
+    }
+
+    /**
+     * checks the value negamax found for the root against the value found
+     * by searching every move with no window. The check is given up if the
+     * full search has more than MAX_CHECKED positions
+     *
+     * @param board    the board of the root
+     * @param tray     the tray of the player to move
+     * @param opponent the tray of the other player
+     * @param value    the value negamax found
+     * @return if the values are the same or the check was given up
+     */
+    private boolean matchesFullWindow(FlatBoard board, Rack tray, Rack opponent, int value) {
+        checked = 0;
+        try {
+            return value == fullWindow(board, tray, opponent, false, new HashMap<>());
+        } catch (Timeout e) {
+            return true;
+        }
+    }
+
+    /**
+     * Finds the value of a position the same way as negamax but looks at
+     * every move to the end of the game with no window and no width. Only
+     * exact values are kept so a position reached again is not searched
+     * again. It is only used to check a search of negamax that reached the
+     * end of the game when assertions are turned on
+     *
+     * @param board    the board of the position
+     * @param tray     the tray of the player to move
+     * @param opponent the tray of the other player
+     * @param passed   if the other player passed in the last move
+     * @param values   the values of the positions already searched
+     * @return the value of the position
+     */
+    private int fullWindow(FlatBoard board, Rack tray, Rack opponent, boolean passed,
+                           HashMap<Long, Integer> values) {
+        long key = key(board, tray, opponent, passed);
+        Integer known = values.get(key);
+        if (known != null) {
+            return known;
+        }
+        if (++checked > MAX_CHECKED) {
+            throw new Timeout();
+        }
+        int bestValue = passed ? score(opponent) - score(tray)
+                : -fullWindow(board, opponent, tray, true, values);
+        Solver solver = new Solver(dictionary, board, new Rack(tray), engine);
+        for (Move move : solver.findTopMoves(Integer.MAX_VALUE)) {
+            Rack leave = new Rack(move.getLeave());
+            int value;
+            if (leave.isEmpty()) {
+                value = move.getScore() + 2 * score(opponent);
+            } else {
+                FlatBoard next = new FlatBoard(board);
+                next.apply(move);
+                value = move.getScore() - fullWindow(next, opponent, leave, false,
+                        values);
+            }
+            bestValue = Math.max(bestValue, value);
+        }
+        values.put(key, bestValue);
+        return bestValue;
+    }
+
+    /**
+     * gets the key of a position in the transposition table
+     *
+     * @param board    the board of the position
+     * @param tray     the tray of the player to move
+     * @param opponent the tray of the other player
+     * @param passed   if the other player passed in the last move
+     * @return the key of the position
+     */
+    private static long key(FlatBoard board, Rack tray, Rack opponent,
+                            boolean passed) {
+        return board.getHash() ^ Zobrist.tray(tray)
+                ^ Long.rotateLeft(Zobrist.tray(opponent), 32) ^ (passed ? PASSED : 0);
+    }
+
+    /**
+     * gets the score of the tiles in a tray
+     *
+     * @param tray the tray
+     * @return the score of the tiles
+     */
+    private static int score(Rack tray) {
+        int score = 0;
+        for (int i = 0; i < LETTER_SCORES.length; i++) {
+            score += tray.count(i) * LETTER_SCORES[i];
+        }
+        return score;
+    }
+}
@@ -0,0 +1,302 @@
+package scrabble;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * A flat board is a scrabble board stored in two arrays of bytes instead of
+ * an array of board squares. Each square is one index in the arrays going
+ * across each row. The letters array has the letter on each square or 0 if
+ * there is not one and the multipliers array has the word multiplier in the
+ * high four bits and the letter multiplier in the low four bits. Copying a
+ * flat board only copies the two arrays. Used by the solver where the board
+ * is read many times for each move and can be made from a board and turned
+ * back into one. The anchors are kept in the same way as a board keeps them
+ * and so is the Zobrist hash of the board
+ *
+ * @author Logan Nunno
+ */
+public class FlatBoard {
+    private static final byte NO_MULTIPLIER = 0x11;
+    private static final int[] LETTER_SCORES = new int[256];
+
+    static {
+        for (char c = 'a'; c <= 'z'; c++) {
+            LETTER_SCORES[c] = new Tile(c).getScore();
+        }
+    }
+
+    private int size;
+    private byte[] letters;
+    private byte[] multipliers;
+    private BitSet anchors;
+    private long hash;
+    private boolean hashed;
+
+    /**
+     * Constructor for an empty flat board with no multipliers
+     *
+     * @param size the number of rows and columns of the board
+     */
+    public FlatBoard(int size) {
+        this.size = size;
+        letters = new byte[size * size];
+        multipliers = new byte[size * size];
+        Arrays.fill(multipliers, NO_MULTIPLIER);
+    }
+
+    /**
+     * Constructor that makes a copy of a flat board
+     *
+     * @param board the flat board that is being copied
+     */
+    public FlatBoard(FlatBoard board) {
+        size = board.size;
+        letters = new byte[board.letters.length];
+        multipliers = new byte[board.multipliers.length];
+        System.arraycopy(board.letters, 0, letters, 0, letters.length);
+        System.arraycopy(board.multipliers, 0, multipliers, 0, multipliers.length);
+        if (board.anchors != null) {
+            anchors = (BitSet) board.anchors.clone();
+        }
+        hash = board.hash;
+        hashed = board.hashed;
+    }
+
+    /**
+     * Constructor that makes a flat board with the same letters, multipliers
+     * and anchors as a board
+     *
+     * @param board the board that is being copied
+     */
+    public FlatBoard(Board board) {
+        this(board.getBoard().length);
+        BoardSquare[][] squares = board.getBoard();
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                BoardSquare square = squares[row][col];
+                int index = row * size + col;
+                if (square.hasLetter()) {
+                    letters[index] = (byte) square.getLetter();
+                }
+                multipliers[index] = (byte) (square.getWordMultiplier() << 4
+                        | square.getLetterMultiplier());
+            }
+        }
+        anchors = (BitSet) board.getAnchors().clone();
+    }
+
+    /**
+     * Makes a board with the same letters and multipliers as this board
+     *
+     * @return the board
+     */
+    public Board toBoard() {
+        Board board = new Board(size);
+        for (int i = 0; i < letters.length; i++) {
+            if (letters[i] != 0) {
+                board.updatePosition(i, (char) letters[i]);
+            } else {
+                board.updatePosition(i, (multipliers[i] & 0xFF) >> 4,
+                        multipliers[i] & 0xF);
+            }
+        }
+        return board;
+    }
+
+    /**
+     * gets the number of rows and columns of the board
+     *
+     * @return the size of the board
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * checks to see if the provided row and column are with the board
+     * @param row the row that is being checked
+     * @param col the column that is being checked
+     * @return if it is with the board or not
+     */
+    public boolean inBounds(int row, int col) {
+        return row >= 0 && row < size && col >= 0 && col < size;
+    }
+
+    /**
+     * a method to check if a provided row and column has a letter
+     * @param row row that is being checked
+     * @param col column that is being checked
+     * @return if there is letter in the provided position
+     */
+    public boolean hasLetter(int row, int col) {
+        return inBounds(row, col) && letters[row * size + col] != 0;
+    }
+
+    /**
+     * gets the letter at a row and column. Blanks are upper case
+     * @param row row of the square
+     * @param col column of the square
+     * @return the letter or a space if there is no letter
+     */
+    public char getLetter(int row, int col) {
+        byte letter = letters[row * size + col];
+        return letter == 0 ? ' ' : (char) letter;
+    }
+
+    /**
+     * gets the score of the letter at a row and column. Blanks and empty
+     * squares are worth 0
+     * @param row row of the square
+     * @param col column of the square
+     * @return the score of the letter
+     */
+    public int getScore(int row, int col) {
+        return LETTER_SCORES[letters[row * size + col] & 0xFF];
+    }
+
+    /**
+     * gets the word multiplier of a square
+     * @param row row of the square
+     * @param col column of the square
+     * @return the word multiplier as an int
+     */
+    public int getWordMultiplier(int row, int col) {
+        return (multipliers[row * size + col] & 0xFF) >> 4;
+    }
+
+    /**
+     * gets the letter multiplier of a square
+     * @param row row of the square
+     * @param col column of the square
+     * @return the letter multiplier as an int
+     */
+    public int getLetterMultiplier(int row, int col) {
+        return multipliers[row * size + col] & 0xF;
+    }
+
+    /**
+     * adds a letter to a row and column and sets the multipliers of that
+     * square to 1 the same as a board square does
+     * @param letter letter that will be added
+     * @param row    row where it will be added
+     * @param col    column where it will be added
+     */
+    public void addLetter(char letter, int row, int col) {
+        int index = row * size + col;
+        if (hashed) {
+            hash ^= squareKey(index);
+        }
+        letters[index] = (byte) letter;
+        multipliers[index] = NO_MULTIPLIER;
+        if (hashed) {
+            hash ^= squareKey(index);
+        }
+        if (anchors != null) {
+            updateAnchor(row, col);
+            updateAnchor(row - 1, col);
+            updateAnchor(row + 1, col);
+            updateAnchor(row, col - 1);
+            updateAnchor(row, col + 1);
+        }
+    }
+
+    /**
+     * places the tiles of a move on the board
+     * @param move the move that is placed
+     */
+    public void apply(Move move) {
+        for (int i = 0; i < move.getTileCount(); i++) {
+            addLetter(move.getTileLetter(i), move.getTileRow(i), move.getTileCol(i));
+        }
+    }
+
+    /**
+     * gets the anchors of the board with one bit for each square going
+     * across each row. They are found the first time they are asked for and
+     * kept up to date when letters are added. The set must not be changed
+     * @return the set of anchors
+     */
+    public BitSet getAnchors() {
+        if (anchors == null) {
+            anchors = new BitSet(letters.length);
+            for (int row = 0; row < size; row++) {
+                for (int col = 0; col < size; col++) {
+                    updateAnchor(row, col);
+                }
+            }
+        }
+        return anchors;
+    }
+
+    /**
+     * gets the Zobrist hash of the letters and multipliers of the board. It
+     * is found the first time it is asked for and then kept up to date when
+     * letters are added
+     * @return the hash of the board
+     */
+    public long getHash() {
+        if (!hashed) {
+            hash = 0;
+            for (int i = 0; i < letters.length; i++) {
+                hash ^= squareKey(i);
+            }
+            hashed = true;
+        }
+        return hash;
+    }
+
+    /**
+     * gets the Zobrist key of a square with what is on it now
+     * @param index the index of the square
+     * @return the key of the square
+     */
+    private long squareKey(int index) {
+        return letters[index] != 0 ? Zobrist.letter(index, (char) letters[index])
+                : Zobrist.empty(index, multipliers[index]);
+    }
+
+    /**
+     * checks if a single square is an anchor and updates the anchors
+     * @param row row of the square
+     * @param col column of the square
+     */
+    private void updateAnchor(int row, int col) {
+        if (inBounds(row, col)) {
+            anchors.set(row * size + col, !hasLetter(row, col)
+                    && (hasLetter(row - 1, col) || hasLetter(row + 1, col)
+                    || hasLetter(row, col - 1) || hasLetter(row, col + 1)));
+        }
+    }
+
+    /**
+     * Makes a board square with the letter and multipliers of a square
+     * @param row row of the square
+     * @param col column of the square
+     * @return a new board square
+     */
+    public BoardSquare getSquare(int row, int col) {
+        return new BoardSquare(row, col, getLetter(row, col),
+                getWordMultiplier(row, col), getLetterMultiplier(row, col));
+    }
+
+    /**
+     * a string representation of the board in the same form as a board
+     * @return a string representing the board
+     */
+    public String toString() {
+        StringBuilder s = new StringBuilder(letters.length * 3);
+        for (int i = 0; i < letters.length; i++) {
+            if (letters[i] != 0) {
+                s.append(' ').append((char) letters[i]);
+            } else {
+                int wordMult = (multipliers[i] & 0xFF) >> 4;
+                int letterMult = multipliers[i] & 0xF;
+                s.append(wordMult == 1 ? '.' : (char) ('0' + wordMult));
+                s.append(letterMult == 1 ? '.' : (char) ('0' + letterMult));
+            }
+            s.append(i % size == size - 1 ? '\n' : ' ');
+        }
+        return s.toString();
+    }
+}
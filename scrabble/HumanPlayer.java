@@ -2,6 +2,8 @@ package scrabble;
 
 import javafx.scene.control.TextInputDialog;
 
+import java.util.ArrayList;
+
 /**
  * A Human player is a player that is controlled by the user
  * has each step of the players move will be updated until it is played in pull
@@ -14,6 +16,7 @@ public class HumanPlayer extends Player {
     private Board midMoveBoard;
     private Tile selectedTile;
     private BoardSquare selectedSquare;
+    private ArrayList<BoardSquare> placed = new ArrayList<>();
 
     /**
      * Human player constructor
@@ -24,10 +27,10 @@ public class HumanPlayer extends Player {
      */
     public HumanPlayer(Bag bag, Board board, Dictionary dictionary) {
         this.bag = bag;
-        this.board = board;
+        this.board = new Board(board);
         this.dictionary = dictionary;
         buildTray();
-        midMoveBoard = new Board(board.getBoard());
+        midMoveBoard = new Board(board);
     }
 
 
@@ -39,28 +42,34 @@ public class HumanPlayer extends Player {
      * updates the board and resets the mid move board if the move was valid
      * also resets the selected tile and selected square on the board
      * if the move was not valid then all played tiles will return to the tray
-     * and the mid move board will be reset and no board will be returned
+     * and the mid move board will be reset and no board will be returned.
+     * The move is checked with only the tiles that were placed and then
+     * applied to the board
      *
      * @return the output board of a players turn
      */
     @Override
     public Board takeTurn() {
-        if (board.isLegalPlay(board.findAllDifferences(midMoveBoard), dictionary, midMoveBoard)) {
-            score += board.scoreBoard(midMoveBoard, dictionary);
-            board = new Board(midMoveBoard.getBoard());
+        Move move = new Move(placed);
+        placed.clear();
+        int playScore = board.scorePlay(move, dictionary);
+        if (playScore != -1) {
+            score += playScore;
+            board.apply(move);
             selectedSquare = null;
             selectedTile = null;
             buildTray();
             return board;
         } else {
-            for (BoardSquare square : board.findAllDifferences(midMoveBoard)) {
-                if (Character.isUpperCase(square.getLetter()) || !Character.isAlphabetic(square.getLetter())) {
+            for (int i = 0; i < move.getTileCount(); i++) {
+                char letter = move.getTileLetter(i);
+                if (Character.isUpperCase(letter) || !Character.isAlphabetic(letter)) {
                     tray.add(new Tile('*'));
                 } else {
-                    tray.add(new Tile(square.getLetter()));
+                    tray.add(new Tile(letter));
                 }
             }
-            midMoveBoard = new Board(board.getBoard());
+            midMoveBoard = new Board(board);
             return null;
         }
     }
@@ -72,7 +81,8 @@ public class HumanPlayer extends Player {
      */
     public void setBoard(Board board) {
         super.setBoard(board);
-        midMoveBoard = new Board(board.getBoard());
+        midMoveBoard = new Board(board);
+        placed.clear();
     }
 
     /**
@@ -121,6 +131,8 @@ public class HumanPlayer extends Player {
             }
             midMoveBoard.addLetter(selectedTile.getLetter(),
                     selectedSquare.getRow(), selectedSquare.getCol());
+            placed.add(new BoardSquare(selectedSquare.getRow(),
+                    selectedSquare.getCol(), selectedTile.getLetter(), 1, 1));
             for (Tile current : tray) {
                 if (current.equals(selectedTile)) {
                     tray.remove(current);
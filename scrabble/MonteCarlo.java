@@ -0,0 +1,269 @@
+package scrabble;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Monte Carlo is a way of picking a move by playing out what could happen
+ * after it instead of only looking at its score. The highest scoring moves
+ * are the candidates. A rollout of a candidate draws a random tray for the
+ * opponent from the tiles that have not been seen, finds the best reply of
+ * the opponent and then finds the best move of this player with the leave of
+ * the candidate and new tiles. The spread of a rollout is the score of the
+ * candidate minus the score of the reply plus the score of the next move so
+ * a candidate that keeps good letters does better. Rollouts are played on a
+ * pool of threads until the time runs out and the candidate with the best
+ * average spread is picked. A single Monte Carlo must not be used by more
+ * than one thread at a time
+ *
+ * @author Logan Nunno
+ */
+public class MonteCarlo {
+    private static final int RACK_SIZE = 7;
+    private Dictionary dictionary;
+    private Solver.Engine engine;
+    private int candidates;
+    private long budgetNanos;
+    private ForkJoinPool pool;
+    private SplittableRandom rand;
+    private long nodes;
+    private int rollouts;
+
+    /**
+     * Constructor for a Monte Carlo that uses the common pool and random
+     * seeds
+     *
+     * @param dictionary   the list of words that are valid
+     * @param candidates   the number of the highest scoring moves that are
+     *                     played out
+     * @param budgetMillis how long rollouts are played for each move
+     */
+    public MonteCarlo(Dictionary dictionary, int candidates, long budgetMillis) {
+        this(dictionary, candidates, budgetMillis, ForkJoinPool.commonPool(),
+                new SplittableRandom().nextLong());
+    }
+
+    /**
+     * Constructor for a Monte Carlo
+     *
+     * @param dictionary   the list of words that are valid
+     * @param candidates   the number of the highest scoring moves that are
+     *                     played out
+     * @param budgetMillis how long rollouts are played for each move
+     * @param pool         the pool the rollouts are played on
+     * @param seed         the seed of the random trays
+     */
+    public MonteCarlo(Dictionary dictionary, int candidates, long budgetMillis,
+                      ForkJoinPool pool, long seed) {
+        this.dictionary = dictionary;
+        this.candidates = candidates;
+        this.budgetNanos = budgetMillis * 1_000_000;
+        this.pool = pool;
+        this.engine = Solver.Engine.TRIE;
+        rand = new SplittableRandom(seed);
+    }
+
+    /**
+     * Picks the move with the best average spread. Each candidate is played
+     * out at least once even if the time runs out first. If there is only
+     * one candidate or there are no tiles that have not been seen the
+     * highest scoring move is picked
+     *
+     * @param board the board the move is played on
+     * @param tray  the tray of the player
+     * @return the move that was picked or null if there is no move
+     */
+    public Move choose(Board board, Rack tray) {
+        long deadline = System.nanoTime() + budgetNanos;
+        nodes = 0;
+        rollouts = 0;
+        Solver solver = new Solver(dictionary, board, new Rack(tray), engine);
+        ArrayList<Move> moves = solver.findTopMoves(candidates);
+        nodes += solver.getNodes();
+        char[] unseen = Bag.unseen(board, tray);
+        if (moves.size() <= 1 || unseen.length == 0) {
+            return moves.isEmpty() ? null : moves.get(0);
+        }
+        FlatBoard base = new FlatBoard(board);
+        FlatBoard[] after = new FlatBoard[moves.size()];
+        for (int i = 0; i < after.length; i++) {
+            after[i] = new FlatBoard(base);
+            after[i].apply(moves.get(i));
+            after[i].getAnchors();
+        }
+        AtomicInteger next = new AtomicInteger();
+        List<Callable<Rollouts>> tasks = new ArrayList<>();
+        for (int i = 0; i < pool.getParallelism(); i++) {
+            Rollouts worker = new Rollouts(moves, after, unseen, rand.split());
+            tasks.add(() -> worker.run(next, deadline));
+        }
+        long[] spreads = new long[moves.size()];
+        int[] counts = new int[moves.size()];
+        for (Future<Rollouts> result : pool.invokeAll(tasks)) {
+            Rollouts worker;
+            try {
+                worker = result.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return moves.get(0);
+            } catch (ExecutionException e) {
+                throw new RuntimeException(e.getCause());
+            }
+            for (int i = 0; i < spreads.length; i++) {
+                spreads[i] += worker.spreads[i];
+                counts[i] += worker.counts[i];
+            }
+            nodes += worker.nodes;
+        }
+        int best = 0;
+        for (int i = 0; i < spreads.length; i++) {
+            rollouts += counts[i];
+            if (counts[i] > 0 && (counts[best] == 0 || (double) spreads[i] / counts[i]
+                    > (double) spreads[best] / counts[best])) {
+                best = i;
+            }
+        }
+        return moves.get(best);
+    }
+
+    /**
+     * gets the number of nodes the solvers looked at in the last choice
+     *
+     * @return the number of nodes as a long
+     */
+    public long getNodes() {
+        return nodes;
+    }
+
+    /**
+     * gets the number of rollouts that were played in the last choice
+     *
+     * @return the number of rollouts
+     */
+    public int getRollouts() {
+        return rollouts;
+    }
+
+    /**
+     * The rollouts played by one thread. Each thread keeps its own totals
+     * and its own copy of the unseen tiles that are shuffled in place so
+     * nothing is shared while the rollouts are played
+     */
+    private class Rollouts {
+        private final ArrayList<Move> moves;
+        private final FlatBoard[] after;
+        private final char[] tiles;
+        private final SplittableRandom rand;
+        private final long[] spreads;
+        private final int[] counts;
+        private long nodes;
+
+        /**
+         * Constructor for the rollouts of a thread
+         *
+         * @param moves  the candidates
+         * @param after  the board after each candidate is played
+         * @param unseen the tiles that have not been seen
+         * @param rand   the random numbers of this thread
+         */
+        private Rollouts(ArrayList<Move> moves, FlatBoard[] after,
+                         char[] unseen, SplittableRandom rand) {
+            this.moves = moves;
+            this.after = after;
+            this.tiles = unseen.clone();
+            this.rand = rand;
+            spreads = new long[moves.size()];
+            counts = new int[moves.size()];
+        }
+
+        /**
+         * Plays rollouts of the candidates in turn until every candidate
+         * has been played once and the time has run out
+         *
+         * @param next     the number of the next rollout shared by every
+         *                 thread
+         * @param deadline the time the rollouts stop in nanoseconds
+         * @return these rollouts with their totals
+         */
+        private Rollouts run(AtomicInteger next, long deadline) {
+            for (int i = next.getAndIncrement();
+                 i < moves.size() || System.nanoTime() < deadline;
+                 i = next.getAndIncrement()) {
+                int candidate = i % moves.size();
+                spreads[candidate] += rollout(candidate);
+                counts[candidate]++;
+            }
+            return this;
+        }
+
+        /**
+         * Plays one rollout of a candidate. The tray of the opponent is the
+         * first tiles after a shuffle and the new tiles of this player are
+         * the ones after those
+         *
+         * @param candidate the number of the candidate
+         * @return the spread of the rollout
+         */
+        private int rollout(int candidate) {
+            Move move = moves.get(candidate);
+            int drawn = Math.min(RACK_SIZE, tiles.length);
+            shuffle(0, drawn);
+            Solver reply = new Solver(dictionary, after[candidate],
+                    rack(new Rack(), 0, drawn), engine);
+            reply.findAllOptions();
+            nodes += reply.getNodes();
+            Move replyMove = reply.getBestPlay();
+            int spread = move.getScore() - Math.max(reply.getBestScore(), 0);
+            FlatBoard board = after[candidate];
+            if (replyMove != null) {
+                board = new FlatBoard(board);
+                board.apply(replyMove);
+            }
+            Rack leave = new Rack(move.getLeave());
+            int refill = Math.min(RACK_SIZE - leave.size(), tiles.length - drawn);
+            shuffle(drawn, drawn + refill);
+            Solver answer = new Solver(dictionary, board,
+                    rack(leave, drawn, drawn + refill), engine);
+            answer.findAllOptions();
+            nodes += answer.getNodes();
+            return spread + Math.max(answer.getBestScore(), 0);
+        }
+
+        /**
+         * shuffles the tiles so a random tile is in each place from start
+         * to end
+         *
+         * @param start the first place
+         * @param end   the place after the last place
+         */
+        private void shuffle(int start, int end) {
+            for (int i = start; i < end; i++) {
+                int j = rand.nextInt(i, tiles.length);
+                char temp = tiles[i];
+                tiles[i] = tiles[j];
+                tiles[j] = temp;
+            }
+        }
+
+        /**
+         * adds a range of the tiles to a rack
+         *
+         * @param rack  the rack the tiles are added to
+         * @param start the first tile
+         * @param end   the tile after the last tile
+         * @return the rack
+         */
+        private Rack rack(Rack rack, int start, int end) {
+            for (int i = start; i < end; i++) {
+                rack.add(tiles[i]);
+            }
+            return rack;
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package scrabble;
+
+import java.util.ArrayList;
+
+/**
+ * A move is a word that can be played on a board. It has the word, where
+ * the word starts, the direction it is played in, the score it is worth and
+ * the letters that are left in the tray after it is played. It also has the
+ * tiles that are placed on the board by the move so the move can be checked,
+ * scored, applied and undone on a board without copying the board.
+ * A move that is made of only tiles, like the tiles a human placed, does not
+ * have a word until it is checked by a board
+ *
+ * @author Logan Nunno
+ */
+public class Move {
+    private String word;
+    private int row;
+    private int col;
+    private Solver.Direction direction;
+    private int score;
+    private String leave;
+    private int[] tileRows;
+    private int[] tileCols;
+    private char[] tileLetters;
+
+    /**
+     * Constructor for a move
+     *
+     * @param word      the whole word that is made including letters that
+     *                  were already on the board. blanks are upper case
+     * @param row       row of the first letter of the word
+     * @param col       column of the first letter of the word
+     * @param direction the direction the word is played in
+     * @param score     the score the move is worth
+     * @param leave     the letters left in the tray after the move in
+     *                  sorted order
+     * @param placed    a bit for each letter of the word that is a new tile
+     *                  with the first letter as the lowest bit
+     */
+    public Move(String word, int row, int col, Solver.Direction direction,
+                int score, String leave, int placed) {
+        this.word = word;
+        this.row = row;
+        this.col = col;
+        this.direction = direction;
+        this.score = score;
+        this.leave = leave;
+        int count = Integer.bitCount(placed);
+        tileRows = new int[count];
+        tileCols = new int[count];
+        tileLetters = new char[count];
+        int rowStep = direction == Solver.Direction.DOWN ? 1 : 0;
+        int colStep = direction == Solver.Direction.ACROSS ? 1 : 0;
+        int tile = 0;
+        for (int i = 0; i < word.length(); i++) {
+            if ((placed & (1 << i)) != 0) {
+                tileRows[tile] = row + i * rowStep;
+                tileCols[tile] = col + i * colStep;
+                tileLetters[tile] = word.charAt(i);
+                tile++;
+            }
+        }
+    }
+
+    /**
+     * Constructor for a move that is only the tiles that were placed. It
+     * does not have a word, a score or a leave
+     *
+     * @param tiles the squares with the letters that were placed
+     */
+    public Move(ArrayList<BoardSquare> tiles) {
+        score = -1;
+        tileRows = new int[tiles.size()];
+        tileCols = new int[tiles.size()];
+        tileLetters = new char[tiles.size()];
+        for (int i = 0; i < tiles.size(); i++) {
+            tileRows[i] = tiles.get(i).getRow();
+            tileCols[i] = tiles.get(i).getCol();
+            tileLetters[i] = tiles.get(i).getLetter();
+        }
+    }
+
+    /**
+     * gets the word of the move
+     * @return the word including the letters that were already on the board
+     * or null if the move is only tiles
+     */
+    public String getWord() {
+        return word;
+    }
+
+    /**
+     * gets the row of the first letter of the word
+     * @return the row as an int
+     */
+    public int getRow() {
+        return row;
+    }
+
+    /**
+     * gets the column of the first letter of the word
+     * @return the column as an int
+     */
+    public int getCol() {
+        return col;
+    }
+
+    /**
+     * gets the direction the word is played in
+     * @return the direction of the move
+     */
+    public Solver.Direction getDirection() {
+        return direction;
+    }
+
+    /**
+     * gets the score the move is worth
+     * @return the score as an int
+     */
+    public int getScore() {
+        return score;
+    }
+
+    /**
+     * gets the letters that are left in the tray after the move is played
+     * @return the leave as a string
+     */
+    public String getLeave() {
+        return leave;
+    }
+
+    /**
+     * gets the number of tiles that are placed by the move
+     * @return the number of tiles
+     */
+    public int getTileCount() {
+        return tileLetters.length;
+    }
+
+    /**
+     * gets the row of a tile that is placed by the move
+     * @param tile the index of the tile
+     * @return the row as an int
+     */
+    public int getTileRow(int tile) {
+        return tileRows[tile];
+    }
+
+    /**
+     * gets the column of a tile that is placed by the move
+     * @param tile the index of the tile
+     * @return the column as an int
+     */
+    public int getTileCol(int tile) {
+        return tileCols[tile];
+    }
+
+    /**
+     * gets the letter of a tile that is placed by the move. Blanks are
+     * upper case
+     * @param tile the index of the tile
+     * @return the letter as a char
+     */
+    public char getTileLetter(int tile) {
+        return tileLetters[tile];
+    }
+
+    /**
+     * Makes a board with the move played on it
+     *
+     * @param board the board the move is played on
+     * @return a copy of the board with the tiles of the move on it
+     */
+    public Board toBoard(Board board) {
+        Board result = new Board(board);
+        result.apply(this);
+        return result;
+    }
+
+    /**
+     * A string representation of the move. A move that is only tiles is
+     * each tile and where it is placed
+     * @return a string with the word, where it is played, the score and
+     * the leave
+     */
+    public String toString() {
+        if (word == null) {
+            StringBuilder tiles = new StringBuilder();
+            for (int i = 0; i < tileLetters.length; i++) {
+                tiles.append(i == 0 ? "" : ", ").append(tileLetters[i]).append(" at (")
+                        .append(tileRows[i]).append(", ").append(tileCols[i]).append(')');
+            }
+            return tiles.toString();
+        }
+        return word + " at (" + row + ", " + col + ") " +
+                direction.toString().toLowerCase() + " for " + score +
+                " points leaving " + leave;
+    }
+}
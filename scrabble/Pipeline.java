@@ -0,0 +1,96 @@
+package scrabble;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.Iterator;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+/**
+ * A pipeline does the work of many items on a pool of threads and writes the
+ * result of each item in the same order the items came in. One thread takes
+ * the items and hands each one to the pool while the thread that started the
+ * pipeline writes the results as soon as the next one in order is done. Only
+ * a few items are taken ahead of the results being written so the whole
+ * input is never in memory at once. The solver and the controller both use
+ * it to work through the boards they read
+ *
+ * @author Logan Nunno
+ */
+public class Pipeline {
+    private static final int AHEAD = 4;
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    /**
+     * Pipeline only has static methods
+     */
+    private Pipeline() {
+    }
+
+    /**
+     * does the work of every item and writes the results in the same order
+     * as the items. If taking an item or doing its work fails the error is
+     * written in place of the result. If taking an item fails no more items
+     * are taken
+     *
+     * @param items   the items that are worked on
+     * @param work    makes the text of the result of one item
+     * @param threads the number of items worked on at the same time
+     * @param out     where the results are written to
+     * @param <T>     the type of the items
+     * @throws IOException          if the results could not be written
+     * @throws InterruptedException if the thread was interrupted while
+     *                              waiting for a result
+     */
+    public static <T> void ordered(Iterator<T> items, Function<T, String> work,
+                                   int threads, Writer out)
+            throws IOException, InterruptedException {
+        ExecutorService workers = Executors.newFixedThreadPool(threads);
+        BlockingQueue<Future<String>> results = new ArrayBlockingQueue<>(threads * AHEAD);
+        Future<String> done = CompletableFuture.completedFuture(null);
+        Thread reader = new Thread(() -> {
+            try {
+                try {
+                    while (items.hasNext()) {
+                        T item = items.next();
+                        results.put(workers.submit(() -> work.apply(item)));
+                    }
+                } catch (UncheckedIOException e) {
+                    results.put(CompletableFuture.failedFuture(e.getCause()));
+                } catch (RuntimeException e) {
+                    results.put(CompletableFuture.failedFuture(e));
+                }
+                results.put(done);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, "pipeline reader");
+        reader.setDaemon(true);
+        reader.start();
+        BufferedWriter writer = new BufferedWriter(out, BUFFER_SIZE);
+        try {
+            for (Future<String> result = results.take(); result != done;
+                 result = results.take()) {
+                try {
+                    writer.write(result.get());
+                } catch (ExecutionException e) {
+                    writer.write(e.getCause() + "\n");
+                }
+                if (results.isEmpty()) {
+                    writer.flush();
+                }
+            }
+        } finally {
+            writer.flush();
+            workers.shutdownNow();
+        }
+    }
+}
@@ -35,7 +35,7 @@ public abstract class Player {
      * @param board board that is being made a copy of and
      */
     protected void setBoard(Board board) {
-        this.board = new Board(board.getBoard());
+        this.board = new Board(board);
     }
 
     /**
@@ -48,13 +48,16 @@ public abstract class Player {
 
     /**
      * based on the tiles played on the board the player will have those tiles
-     * remove and new ones drawn from the bag of tiles
-     * @param differences move that was made on the board
+     * remove and new ones drawn from the bag of tiles. An upper case letter
+     * was played with a blank
+     * @param move move that was made on the board
      */
-    protected void updateTray(ArrayList<BoardSquare> differences) {
-        for (BoardSquare square : differences) {
+    protected void updateTray(Move move) {
+        for (int i = 0; i < move.getTileCount(); i++) {
+            char letter = move.getTileLetter(i);
+            Tile played = new Tile(Character.isUpperCase(letter) ? '*' : letter);
             for (Tile tile : tray) {
-                if (square.getTile().equals(tile)) {
+                if (played.equals(tile)) {
                     tray.remove(tile);
                     break;
                 }
@@ -73,12 +76,12 @@ public abstract class Player {
     }
 
     /**
-     * converts the tray of tiles to an array of Character to be used in a solver
+     * converts the tray of tiles to a rack to be used in a solver
      *
-     * @return an ArrayList of Character representing the tray
+     * @return a rack representing the tray
      */
-    protected ArrayList<Character> convertTray() {
-        ArrayList<Character> tray = new ArrayList<>();
+    protected Rack convertTray() {
+        Rack tray = new Rack();
         for (Tile current : this.tray) {
             tray.add(current.getLetter());
         }
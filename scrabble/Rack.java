@@ -0,0 +1,169 @@
+package scrabble;
+
+/**
+ * A rack is the letters in a tray stored as the number of each letter and
+ * the number of blanks. Checking, removing and adding a letter are all done
+ * by changing a count so they take the same time no matter how many letters
+ * are in the rack. Used by the solver in place of a list of characters
+ *
+ * @author Logan Nunno
+ */
+public final class Rack {
+    private int[] counts;
+    private int blanks;
+    private int size;
+
+    /**
+     * Constructor for an empty rack
+     */
+    public Rack() {
+        counts = new int[26];
+    }
+
+    /**
+     * Constructor for a rack with the provided letters. A '*' is a blank
+     *
+     * @param letters the letters that are in the rack
+     */
+    public Rack(String letters) {
+        this();
+        for (char c : letters.toCharArray()) {
+            add(c);
+        }
+    }
+
+    /**
+     * Constructor that makes a copy of a rack
+     *
+     * @param rack the rack that is being copied
+     */
+    public Rack(Rack rack) {
+        counts = rack.counts.clone();
+        blanks = rack.blanks;
+        size = rack.size;
+    }
+
+    /**
+     * adds a letter to the rack. A '*' is added as a blank
+     *
+     * @param letter the letter being added
+     */
+    public void add(char letter) {
+        if (letter == '*') {
+            addBlank();
+        } else if (Character.isLetter(letter)) {
+            add(Character.toLowerCase(letter) - 'a');
+        }
+    }
+
+    /**
+     * checks to see if the rack has at least one of a letter
+     *
+     * @param letter index of the letter in the alphabet
+     * @return if the letter is in the rack
+     */
+    public boolean has(int letter) {
+        return counts[letter] > 0;
+    }
+
+    /**
+     * removes one of a letter from the rack
+     *
+     * @param letter index of the letter in the alphabet
+     */
+    public void remove(int letter) {
+        counts[letter]--;
+        size--;
+    }
+
+    /**
+     * adds one of a letter to the rack
+     *
+     * @param letter index of the letter in the alphabet
+     */
+    public void add(int letter) {
+        counts[letter]++;
+        size++;
+    }
+
+    /**
+     * gets the number of a letter in the rack
+     *
+     * @param letter index of the letter in the alphabet
+     * @return the number of that letter
+     */
+    public int count(int letter) {
+        return counts[letter];
+    }
+
+    /**
+     * checks to see if the rack has a blank
+     *
+     * @return if there is a blank in the rack
+     */
+    public boolean hasBlank() {
+        return blanks > 0;
+    }
+
+    /**
+     * removes a blank from the rack
+     */
+    public void removeBlank() {
+        blanks--;
+        size--;
+    }
+
+    /**
+     * adds a blank to the rack
+     */
+    public void addBlank() {
+        blanks++;
+        size++;
+    }
+
+    /**
+     * gets the number of blanks in the rack
+     *
+     * @return the number of blanks
+     */
+    public int getBlanks() {
+        return blanks;
+    }
+
+    /**
+     * gets the number of letters and blanks in the rack
+     *
+     * @return the size of the rack
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * checks to see if the rack has no letters or blanks
+     *
+     * @return if the rack is empty
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * A string representation of the rack with the blanks first as '*'
+     * and then the letters in alphabetical order
+     *
+     * @return the letters of the rack as a string
+     */
+    public String toString() {
+        StringBuilder letters = new StringBuilder(size);
+        for (int i = 0; i < blanks; i++) {
+            letters.append('*');
+        }
+        for (int i = 0; i < counts.length; i++) {
+            for (int j = 0; j < counts[i]; j++) {
+                letters.append((char) ('a' + i));
+            }
+        }
+        return letters.toString();
+    }
+}
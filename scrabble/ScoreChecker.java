@@ -21,40 +21,37 @@ public class ScoreChecker {
      * @return the score if the word is valid and -1 if not
      */
     public static int checkScore(ArrayList<BoardSquare> word, Dictionary dictionary, Board original, int bonus) {
+        Dawg words = dictionary.getWords();
+        BoardSquare[][] squares = original.getBoard();
+        int node = words.root();
         int score = 0;
-        String wordString = "";
-        ArrayList<Integer> wordMultipliers = new ArrayList<>();
-
-        for (int i = 0; i < word.size(); i++) {
-            wordString += word.get(i).getLetter();
-            score += word.get(i).getScore() * getBoardSquare(word, original, i).getLetterMultiplier();
-            wordMultipliers.add(getBoardSquare(word, original, i).getWordMultiplier());
+        int multiplier = 1;
+        for (BoardSquare square : word) {
+            BoardSquare originalSquare = squares[square.getRow()][square.getCol()];
+            node = child(words, node, square.getLetter());
+            score += square.getScore() * originalSquare.getLetterMultiplier();
+            multiplier *= originalSquare.getWordMultiplier();
         }
-        if (dictionary.getWords().isWord(wordString)) {
-            if (wordMultipliers.isEmpty()) {
+        if (words.isWord(node)) {
+            if (word.isEmpty()) {
                 return score;
-            } else {
-                int multiplier = 1;
-                for (Integer multipliers : wordMultipliers) {
-                    multiplier *= multipliers;
-                }
-                return (score * multiplier) + bonus;
             }
+            return (score * multiplier) + bonus;
         }
         return -1;
     }
 
     /**
-     * Gets the board square of the original board based on the board square
-     * of the board square of the word and the index. used to check the multiples
-     * in the original board
+     * Gets the child of a node for a letter of a word on the board. Once a
+     * letter has no child the word can not be in the dictionary so the rest
+     * of the word is not looked at but it is still scored
      *
-     * @param word     word that was played on the board
-     * @param original orginal board where a move was made
-     * @param index    index of the letter in the word we are looking at
-     * @return the original board square of a given index of the word that was played
+     * @param words  the dictionary
+     * @param node   the node of the letters before this one or NONE
+     * @param letter the letter on the square. Blanks are upper case
+     * @return the child or NONE if the letters are not the start of a word
      */
-    private static BoardSquare getBoardSquare(ArrayList<BoardSquare> word, Board original, int index) {
-        return original.getBoard()[word.get(index).getRow()][word.get(index).getCol()];
+    private static int child(Dawg words, int node, char letter) {
+        return node == Dawg.NONE ? Dawg.NONE : words.getChild(node, letter);
     }
 }
@@ -0,0 +1,426 @@
+package scrabble;
+
+import java.io.BufferedWriter;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * A simulation is a game of scrabble between two computer players that is
+ * played without a display. Each game has a seed that is used by the bag so
+ * the same seed always plays the same game. The score of each player, the
+ * time each move took and the number of nodes the solvers looked at are kept
+ * for each game. The main method plays many games at the same time and
+ * prints the results of each game and how fast they were played
+ *
+ * @author Logan Nunno
+ */
+public class Simulation {
+    private static final int PLAYERS = 2;
+    private static final double[] PERCENTILES = {50, 90, 99};
+    private Dictionary dictionary;
+    private Board board;
+    private long seed;
+    private int candidates;
+    private long budgetMillis;
+    private int width;
+    private long limitMillis;
+    private int[] scores = new int[PLAYERS];
+    private int moves;
+    private long[] moveNanos = new long[32];
+    private long nodes;
+    private long nanos;
+
+    /**
+     * Constructor for a simulation of one game
+     *
+     * @param dictionary the list of words that are valid
+     * @param board      the empty board the game is played on
+     * @param seed       the seed of the bag used in the game
+     */
+    public Simulation(Dictionary dictionary, Board board, long seed) {
+        this.dictionary = dictionary;
+        this.board = board;
+        this.seed = seed;
+    }
+
+    /**
+     * Makes the first player pick its moves with a Monte Carlo instead of
+     * always playing the highest scoring move
+     *
+     * @param candidates   the number of moves played out each turn
+     * @param budgetMillis how long the moves are played out each turn
+     * @return this simulation
+     */
+    public Simulation useMonteCarlo(int candidates, long budgetMillis) {
+        this.candidates = candidates;
+        this.budgetMillis = budgetMillis;
+        return this;
+    }
+
+    /**
+     * Makes the first player pick its moves with an endgame once the bag is
+     * empty
+     *
+     * @param width       the number of the highest scoring moves looked at in
+     *                    each position or 0 to look at every move
+     * @param limitMillis how long the endgame can search for each move or 0
+     *                    to not use an endgame
+     * @return this simulation
+     */
+    public Simulation useEndgame(int width, long limitMillis) {
+        this.width = width;
+        this.limitMillis = limitMillis;
+        return this;
+    }
+
+    /**
+     * Plays the game until one player has used all of their tiles and the
+     * bag is empty or until every player could not make a move in a row.
+     * Each player then loses the score of the tiles left in their tray and
+     * a player that used all of their tiles gets the score of the tiles left
+     * in the other trays
+     *
+     * @return this simulation with the results of the game
+     */
+    public Simulation play() {
+        long gameStart = System.nanoTime();
+        Bag bag = new Bag(seed);
+        ComputerPlayer[] players = new ComputerPlayer[PLAYERS];
+        for (int i = 0; i < PLAYERS; i++) {
+            players[i] = new ComputerPlayer(bag, board, dictionary);
+        }
+        if (candidates > 0) {
+            players[0].setMonteCarlo(new MonteCarlo(dictionary, candidates,
+                    budgetMillis, ForkJoinPool.commonPool(), seed));
+        }
+        if (limitMillis > 0) {
+            players[0].setEndgame(new Endgame(dictionary, width, limitMillis));
+        }
+        int passes = 0;
+        int turn = 0;
+        while (passes < PLAYERS) {
+            ComputerPlayer player = players[turn];
+            long start = System.nanoTime();
+            Board next = player.takeTurn();
+            addMoveTime(System.nanoTime() - start);
+            passes = player.getLastMove() == null ? passes + 1 : 0;
+            if (player.getNumberOfTilesInHand() == 0) {
+                break;
+            }
+            turn = (turn + 1) % PLAYERS;
+            players[turn].setBoard(next);
+        }
+        int left = 0;
+        for (int i = 0; i < PLAYERS; i++) {
+            int trayScore = trayScore(players[i]);
+            scores[i] = players[i].getScore() - trayScore;
+            left += trayScore;
+            nodes += players[i].getNodes();
+        }
+        if (players[turn].getNumberOfTilesInHand() == 0) {
+            scores[turn] += left;
+        }
+        nanos = System.nanoTime() - gameStart;
+        return this;
+    }
+
+    /**
+     * adds the time of a move to the move times and makes the array bigger
+     * if it is full
+     *
+     * @param time the time the move took in nanoseconds
+     */
+    private void addMoveTime(long time) {
+        if (moves == moveNanos.length) {
+            moveNanos = Arrays.copyOf(moveNanos, moves * 2);
+        }
+        moveNanos[moves++] = time;
+    }
+
+    /**
+     * finds the score of the tiles that are left in the tray of a player
+     *
+     * @param player the player whose tray is scored
+     * @return the score of the tray
+     */
+    private static int trayScore(Player player) {
+        int score = 0;
+        for (Tile tile : player.tray) {
+            score += tile.getScore();
+        }
+        return score;
+    }
+
+    /**
+     * gets the seed of the bag used in the game
+     *
+     * @return the seed as a long
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * gets the final score of a player
+     *
+     * @param player the number of the player starting at 0 for the player
+     *               that went first
+     * @return the score as an int
+     */
+    public int getScore(int player) {
+        return scores[player];
+    }
+
+    /**
+     * gets the number of turns that were taken in the game including turns
+     * where no move could be made
+     *
+     * @return the number of turns
+     */
+    public int getMoves() {
+        return moves;
+    }
+
+    /**
+     * gets the time a single turn took
+     *
+     * @param move the number of the turn starting at 0
+     * @return the time in nanoseconds
+     */
+    public long getMoveNanos(int move) {
+        return moveNanos[move];
+    }
+
+    /**
+     * gets the number of nodes both solvers looked at in the whole game
+     *
+     * @return the number of nodes as a long
+     */
+    public long getNodes() {
+        return nodes;
+    }
+
+    /**
+     * gets the time the whole game took
+     *
+     * @return the time in nanoseconds
+     */
+    public long getNanos() {
+        return nanos;
+    }
+
+    /**
+     * makes the result of the game as one line with the values separated by
+     * tabs. The values are the number of the game, the seed, the score of
+     * each player, the number of turns, the time of the game in milliseconds
+     * and the number of nodes
+     *
+     * @param game the number of the game starting at 0
+     * @return the result as one line
+     */
+    private String resultLine(int game) {
+        StringBuilder line = new StringBuilder(64);
+        line.append(game).append('\t').append(seed);
+        for (int score : scores) {
+            line.append('\t').append(score);
+        }
+        return line.append('\t').append(moves).append('\t')
+                .append(nanos / 1_000_000).append('\t').append(nodes)
+                .append('\n').toString();
+    }
+
+    /**
+     * Main method that plays many games between two computer players and
+     * prints the result of each game followed by the number of games played
+     * each second and the time a move takes. The first command line argument
+     * is the file path of the list of words that will be counted as valid
+     * words. --games and a number picks how many games are played, --threads
+     * and a number picks how many games are played at the same time, --seed
+     * and a number picks the seed of the first game, --board and a file
+     * path picks the board the games are played on and --monte-carlo and a
+     * number of milliseconds makes the first player pick its moves with a
+     * Monte Carlo that plays out --candidates moves (10 by default) for that
+     * long each turn. --endgame and a number of milliseconds makes the first
+     * player search the rest of the game for that long each turn once the
+     * bag is empty. It looks at every move of each position unless --width
+     * and a number only lets it look at that many of the highest scoring
+     * moves. Every option must have a value after it
+     *
+     * @param args command line arguments
+     */
+    public static void main(String[] args) {
+        if (args.length < 1) {
+            System.out.println("Please enter a file name");
+        } else {
+            int games = 100;
+            int threads = Runtime.getRuntime().availableProcessors();
+            long seed = 1;
+            String boardPath = "resources/scrabble_board.txt";
+            int candidates = 10;
+            long budgetMillis = 0;
+            int width = 0;
+            long limitMillis = 0;
+            for (int i = 1; i < args.length; i++) {
+                if (i + 1 == args.length) {
+                    System.out.println("Please enter a value after " + args[i]);
+                    return;
+                }
+                if (args[i].equals("--games")) {
+                    games = Integer.parseInt(args[++i]);
+                } else if (args[i].equals("--threads")) {
+                    threads = Integer.parseInt(args[++i]);
+                } else if (args[i].equals("--seed")) {
+                    seed = Long.parseLong(args[++i]);
+                } else if (args[i].equals("--board")) {
+                    boardPath = args[++i];
+                } else if (args[i].equals("--candidates")) {
+                    candidates = Integer.parseInt(args[++i]);
+                } else if (args[i].equals("--monte-carlo")) {
+                    budgetMillis = Long.parseLong(args[++i]);
+                } else if (args[i].equals("--width")) {
+                    width = Integer.parseInt(args[++i]);
+                } else if (args[i].equals("--endgame")) {
+                    limitMillis = Long.parseLong(args[++i]);
+                }
+            }
+            if (threads < 1) {
+                System.out.println("Please enter at least 1 thread");
+                return;
+            }
+            Dictionary dictionary = DictionaryRegistry.acquire(args[0]);
+            try (InputStream in = new FileInputStream(boardPath)) {
+                Board board = Board.readInputBoard(new BoardReader(in));
+                playAll(dictionary, board, games, threads, seed,
+                        budgetMillis > 0 ? candidates : 0, budgetMillis,
+                        width, limitMillis, System.out);
+            } catch (IOException e) {
+                System.out.println(e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            DictionaryRegistry.release(dictionary);
+        }
+    }
+
+    /**
+     * Plays many games on a pool of threads and writes the result of each
+     * game in the order of the games. Game i uses the seed plus i. After
+     * every game is done the number of games played each second, the number
+     * of nodes looked at each second and the percentiles of the time a
+     * single move took are written
+     *
+     * @param dictionary the dictionary used for every game
+     * @param board      the empty board every game is played on
+     * @param games      the number of games played
+     * @param threads    the number of games played at the same time
+     * @param seed       the seed of the first game
+     * @param candidates the number of moves the first player plays out
+     *                   with a Monte Carlo or 0 to not use one
+     * @param budgetMillis how long the first player plays out moves
+     * @param width      the number of moves the first player looks at in
+     *                   each position of the endgame or 0 for every move
+     * @param limitMillis how long the first player searches the endgame or
+     *                    0 to not use one
+     * @param out        where the results are written to
+     * @throws IOException          if the results could not be written
+     * @throws InterruptedException if the thread was interrupted while
+     *                              waiting for a game
+     * @throws IllegalArgumentException if there is less than 1 thread
+     */
+    public static void playAll(Dictionary dictionary, Board board, int games,
+                               int threads, long seed, int candidates,
+                               long budgetMillis, int width, long limitMillis,
+                               OutputStream out)
+            throws IOException, InterruptedException {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Please enter at least 1 thread");
+        }
+        ExecutorService workers = Executors.newFixedThreadPool(threads);
+        BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(out), 1 << 16);
+        long start = System.nanoTime();
+        try {
+            ArrayList<Future<Simulation>> results = new ArrayList<>(games);
+            for (int i = 0; i < games; i++) {
+                Simulation game = new Simulation(dictionary, board, seed + i)
+                        .useMonteCarlo(candidates, budgetMillis)
+                        .useEndgame(width, limitMillis);
+                results.add(workers.submit(game::play));
+            }
+            ArrayList<Simulation> played = new ArrayList<>(games);
+            for (int i = 0; i < games; i++) {
+                try {
+                    Simulation game = results.get(i).get();
+                    played.add(game);
+                    writer.write(game.resultLine(i));
+                } catch (ExecutionException e) {
+                    writer.write(i + "\t" + e.getCause() + "\n");
+                }
+            }
+            writer.write(summary(played, System.nanoTime() - start));
+        } finally {
+            writer.flush();
+            workers.shutdownNow();
+        }
+    }
+
+    /**
+     * makes the summary of the games that were played with the number of
+     * games and nodes each second and the percentiles of the move times
+     *
+     * @param played the games that were played
+     * @param nanos  the time it took to play every game in nanoseconds
+     * @return the summary as text
+     */
+    private static String summary(ArrayList<Simulation> played, long nanos) {
+        int moveCount = 0;
+        long nodes = 0;
+        for (Simulation game : played) {
+            moveCount += game.moves;
+            nodes += game.nodes;
+        }
+        long[] times = new long[moveCount];
+        int index = 0;
+        for (Simulation game : played) {
+            System.arraycopy(game.moveNanos, 0, times, index, game.moves);
+            index += game.moves;
+        }
+        Arrays.sort(times);
+        double seconds = nanos / 1e9;
+        StringBuilder s = new StringBuilder(128);
+        s.append(String.format("%d games in %.2f s: %.2f games/sec, %.0f nodes/sec%n",
+                played.size(), seconds, played.size() / seconds, nodes / seconds));
+        s.append(String.format("%d moves, move ms:", moveCount));
+        for (double percentile : PERCENTILES) {
+            s.append(String.format(" p%.0f %.2f", percentile,
+                    percentile(times, percentile) / 1e6));
+        }
+        s.append(String.format(" max %.2f%n",
+                times.length == 0 ? 0 : times[times.length - 1] / 1e6));
+        return s.toString();
+    }
+
+    /**
+     * finds a percentile of sorted times using the nearest rank
+     *
+     * @param times      the sorted times
+     * @param percentile the percentile that is wanted from 0 to 100
+     * @return the time at that percentile or 0 if there are no times
+     */
+    private static long percentile(long[] times, double percentile) {
+        if (times.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(percentile / 100 * times.length);
+        return times[Math.max(rank - 1, 0)];
+    }
+}
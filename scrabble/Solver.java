@@ -1,8 +1,18 @@
 package scrabble;
 
 import java.awt.*;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
 import java.util.ArrayList;
-import java.util.Scanner;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.PriorityQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * This class is used to find the best move possible based on the provided board
@@ -11,33 +21,136 @@ import java.util.Scanner;
  * @author Logan Nunno
  */
 public class Solver {
+    private static final int ALL_LETTERS = (1 << 26) - 1;
+    private static final int BINGO_SIZE = 7;
+    private static final int BINGO_BONUS = 50;
+    private static final int TOP_CAPACITY = 64;
+    private static final String USAGE = "Usage: java scrabble.Solver words"
+            + " [trie|gaddag] [--threads n] [--cache n] [--lines] [--stats]";
+    private static final int[] LETTER_SCORES = new int[26];
+    private static final Move NO_MOVE = new Move(new ArrayList<>());
+    private static final Comparator<Move> BEST_FIRST =
+            Comparator.comparingInt(Move::getScore).reversed()
+                    .thenComparingInt(Move::getRow)
+                    .thenComparingInt(Move::getCol)
+                    .thenComparing(Move::getDirection)
+                    .thenComparing(Move::getWord);
+    private static final Comparator<Move> WORST_FIRST = BEST_FIRST.reversed();
     private Dictionary dictionary;
-    private Board board;
-    private ArrayList<Character> tray;
+    private FlatBoard board;
+    private Rack tray;
     private Direction direction;
     private Board bestMove;
     private String bestWord;
+    private int bestScore = -1;
+    private Point bestEnd;
+    private Direction bestDirection;
+    private int bestPlaced;
+    private Engine engine;
+    private boolean[][] anchorSquares;
+    private int[][][] crossChecks;
+    private int[][][] crossScores;
+    private ArrayList<Point> anchors;
+    private Dawg words;
+    private Dawg gaddag;
+    private int topCount;
+    private PriorityQueue<Move> topMoves;
+    private int movesFound;
+    private long nodes;
+    private SolverCache cache;
+    private SolverStats stats;
+    private char[] letters;
+
+    static {
+        for (int i = 0; i < LETTER_SCORES.length; i++) {
+            LETTER_SCORES[i] = new Tile((char) ('a' + i)).getScore();
+        }
+    }
 
     /**
      * An enum used to determine the direction of the move that is trying to
      * be played
      */
-    private enum Direction {
+    public enum Direction {
         ACROSS,
         DOWN
     }
 
     /**
-     * A constructor to make a new solver
+     * An enum used to pick how the solver generates words
+     * TRIE builds the part before an anchor and then the part after it
+     * using the trie of the dictionary
+     * GADDAG builds words outwards from each anchor in both directions
+     * using the GADDAG of the dictionary
+     */
+    public enum Engine {
+        TRIE,
+        GADDAG
+    }
+
+    /**
+     * A constructor to make a new solver that uses the trie engine
      * @param dictionary the dictionary of valid words
      * @param board the board that a move will be played on
      * @param tray the tray that we are using to find the best move
      */
-    public Solver(Dictionary dictionary, Board board, ArrayList<Character> tray) {
+    public Solver(Dictionary dictionary, Board board, Rack tray) {
+        this(dictionary, board, tray, Engine.TRIE);
+    }
+
+    /**
+     * A constructor to make a new solver with the provided engine
+     * @param dictionary the dictionary of valid words
+     * @param board the board that a move will be played on
+     * @param tray the tray that we are using to find the best move
+     * @param engine the engine used to generate the words
+     */
+    public Solver(Dictionary dictionary, Board board, Rack tray,
+                  Engine engine) {
+        this(dictionary, new FlatBoard(board), tray, engine);
+    }
+
+    /**
+     * A constructor to make a new solver for a flat board with the
+     * provided engine. The board is not copied so it must not be changed
+     * while the solver is searching
+     * @param dictionary the dictionary of valid words
+     * @param board the flat board that a move will be played on
+     * @param tray the tray that we are using to find the best move
+     * @param engine the engine used to generate the words
+     */
+    public Solver(Dictionary dictionary, FlatBoard board, Rack tray,
+                  Engine engine) {
         this.dictionary = dictionary;
+        words = dictionary.getWords();
         this.board = board;
-        bestMove = new Board(board.getBoard());
         this.tray = tray;
+        this.engine = engine;
+        letters = new char[2 * board.getSize()];
+    }
+
+    /**
+     * A constructor that makes a copy of a solver that is ready to search
+     * it shares the board, the anchors and the cross checks but has its
+     * own copy of the tray and its own best move
+     * @param solver the solver that is being copied
+     */
+    private Solver(Solver solver) {
+        this(solver.dictionary, solver.board, new Rack(solver.tray),
+                solver.engine);
+        anchors = solver.anchors;
+        topCount = solver.topCount;
+        if (topCount > 0) {
+            topMoves = new PriorityQueue<>(Math.min(topCount, TOP_CAPACITY) + 1,
+                    WORST_FIRST);
+        }
+        anchorSquares = solver.anchorSquares;
+        crossChecks = solver.crossChecks;
+        crossScores = solver.crossScores;
+        gaddag = solver.gaddag;
+        if (solver.stats != null) {
+            stats = new SolverStats();
+        }
     }
 
     /**
@@ -71,62 +184,238 @@ public class Solver {
     }
 
     /**
-     * gets the best move the solver has found
+     * gets the best move the solver has found. The board is only made the
+     * first time it is asked for after a search. If no move was found it is
+     * a copy of the board that was being played on
      * @return the board of the best move
      */
     public Board getBestMove() {
+        if (bestMove == null) {
+            FlatBoard move = new FlatBoard(board);
+            if (bestWord != null) {
+                int rowStep = bestDirection == Direction.DOWN ? 1 : 0;
+                int colStep = bestDirection == Direction.ACROSS ? 1 : 0;
+                int row = bestEnd.y;
+                int col = bestEnd.x;
+                for (int i = bestWord.length() - 1; i >= 0; i--) {
+                    move.addLetter(bestWord.charAt(i), row, col);
+                    row -= rowStep;
+                    col -= colStep;
+                }
+            }
+            bestMove = move.toBoard();
+        }
         return bestMove;
     }
 
+    /**
+     * gets the best move the solver has found as a move with the tiles that
+     * are placed so it can be applied to a board
+     * @return the best move or null if no move was found
+     */
+    public Move getBestPlay() {
+        if (bestWord == null) {
+            return null;
+        }
+        Rack leave = new Rack(tray);
+        for (int i = 0; i < bestWord.length(); i++) {
+            if ((bestPlaced & (1 << i)) != 0) {
+                char letter = bestWord.charAt(i);
+                if (Character.isUpperCase(letter)) {
+                    leave.removeBlank();
+                } else {
+                    leave.remove(letter - 'a');
+                }
+            }
+        }
+        return new Move(bestWord, bestRow(), bestCol(), bestDirection, bestScore,
+                leave.toString(), bestPlaced);
+    }
+
+    /**
+     * gets the row of the first letter of the best move
+     * @return the row
+     */
+    private int bestRow() {
+        return bestDirection == Direction.DOWN ? bestEnd.y - bestWord.length() + 1
+                : bestEnd.y;
+    }
+
+    /**
+     * gets the column of the first letter of the best move
+     * @return the column
+     */
+    private int bestCol() {
+        return bestDirection == Direction.ACROSS ? bestEnd.x - bestWord.length() + 1
+                : bestEnd.x;
+    }
+
+    /**
+     * compares a move to the best move when they have the same score so a tie
+     * is always broken the same way no matter which engine found the moves or
+     * in what order. The move that starts on the lower row comes first, then
+     * the one on the lower column, then the one going across and then the one
+     * whose word comes first, the same order as BEST_FIRST
+     *
+     * @param row       row of the first letter of the move
+     * @param col       column of the first letter of the move
+     * @param direction the direction of the move
+     * @param word      the word of the move
+     * @return less than 0 if the move comes before the best move, 0 if they
+     * are the same and more than 0 if it comes after
+     */
+    private int compareToBest(int row, int col, Direction direction, String word) {
+        if (row != bestRow()) {
+            return Integer.compare(row, bestRow());
+        }
+        if (col != bestCol()) {
+            return Integer.compare(col, bestCol());
+        }
+        if (direction != bestDirection) {
+            return direction.compareTo(bestDirection);
+        }
+        return word.compareTo(bestWord);
+    }
+
+    /**
+     * gets the score of the best move the solver has found
+     * @return the score of the best move or -1 if no move was found
+     */
+    public int getBestScore() {
+        return bestScore;
+    }
+
+    /**
+     * gets the word of the best move the solver has found including
+     * the letters that were already on the board. Blanks are upper case
+     * @return the best word or null if no move was found
+     */
+    public String getBestWord() {
+        return bestWord;
+    }
+
+    /**
+     * gets the number of nodes that were looked at in the last search. A
+     * node is one call that tries to place a letter in a square
+     * @return the number of nodes as a long
+     */
+    public long getNodes() {
+        return nodes;
+    }
+
     /**
      * A method to find all Anchors squares on the board
      * an anchor is a square that has a connection if a letter is placed there
      * used to reduce the time it takes to find a valid word
-     * if nothing is on the board then the center square will be an anchor
+     * if nothing is on the board then the center square will be an anchor.
+     * The anchors are kept by the board so they are not searched for again
      *
-     * @return the List of board squares that are anchors
-     */
-    private ArrayList<BoardSquare> findAnchors() {
-        ArrayList<BoardSquare> anchors = new ArrayList<>();
-        for (BoardSquare[] row : board.getBoard()) {
-            for (BoardSquare square : row) {
-                if (!square.hasLetter() &&
-                        board.hasConnection(square, new ArrayList<>())) {
-                    anchors.add(square);
-                }
-            }
+     * @return the List of positions that are anchors
+     */
+    private ArrayList<Point> findAnchors() {
+        BitSet squares = board.getAnchors();
+        ArrayList<Point> anchors = new ArrayList<>(squares.cardinality());
+        int size = board.getSize();
+        for (int i = squares.nextSetBit(0); i >= 0; i = squares.nextSetBit(i + 1)) {
+            anchors.add(new Point(i % size, i / size));
         }
         if (anchors.isEmpty()) {
-            anchors.add(board.getBoard()[board.getBoard().length / 2]
-                    [board.getBoard().length / 2]);
+            anchors.add(new Point(board.getSize() / 2, board.getSize() / 2));
         }
         return anchors;
     }
 
     /**
-     * Method to check if a move that was found is legal and place it on the board
-     * in the desired location. If the play that was found is legal then it will
-     * check to see if it is a higher scoring move than the one that is currently saved
-     * if it is then it will be the new highest scoring move
+     * Method to score a move that was found and check to see if it is a higher
+     * scoring move than the one that is currently saved if it is then it will
+     * be the new highest scoring move. Every move that gets here is already
+     * legal since it is a word, it covers an anchor and the cross checks made
+     * sure every cross word is a word. The score is found from the letters
+     * that were placed, the multipliers of the board and the cross scores so
+     * the board does not have to be copied
      *
-     * @param word      real word that was found
+     * @param start     index in the letters of the first letter of the word
+     * @param end       index in the letters after the last letter of the word
      * @param lastPoint last position of the word ie where the word will end
      */
-    private void legalMove(String word, Point lastPoint) {
-        Board copy = new Board(board.getBoard());
-        Point playPos = new Point(lastPoint.x, lastPoint.y);
-        int wordIndex = word.length() - 1;
-        while (wordIndex >= 0 && board.inBounds(lastPoint.y, lastPoint.x)) {
-            copy.addLetter(word.charAt(wordIndex), playPos);
-            wordIndex--;
-            before(playPos);
-        }
-        ArrayList<BoardSquare> differences = board.findAllDifferences(copy);
-        if (board.isLegalPlay(differences, dictionary, copy)) {
-            if (board.scoreBoard(bestMove, dictionary) < board.scoreBoard(copy, dictionary)) {
-                bestMove = copy;
-                bestWord = word;
+    private void legalMove(int start, int end, Point lastPoint) {
+        long scoreStart = stats != null ? System.nanoTime() : 0;
+        int d = direction.ordinal();
+        int rowStep = direction == Direction.DOWN ? 1 : 0;
+        int colStep = direction == Direction.ACROSS ? 1 : 0;
+        int row = lastPoint.y;
+        int col = lastPoint.x;
+        int wordScore = 0;
+        int wordMultiplier = 1;
+        int crossWordsScore = 0;
+        int tilesPlayed = 0;
+        int placed = 0;
+        boolean crossed = false;
+        for (int i = end - 1; i >= start; i--) {
+            if (board.hasLetter(row, col)) {
+                wordScore += board.getScore(row, col);
+            } else {
+                char letter = letters[i];
+                int letterScore = Character.isUpperCase(letter) ? 0 :
+                        LETTER_SCORES[letter - 'a']
+                                * board.getLetterMultiplier(row, col);
+                int squareMultiplier = board.getWordMultiplier(row, col);
+                wordScore += letterScore;
+                wordMultiplier *= squareMultiplier;
+                if (crossScores[d][row][col] != -1) {
+                    crossWordsScore += (crossScores[d][row][col] + letterScore)
+                            * squareMultiplier;
+                    crossed = true;
+                }
+                tilesPlayed++;
+                placed |= 1 << (i - start);
             }
+            row -= rowStep;
+            col -= colStep;
+        }
+        int score = wordScore * wordMultiplier + crossWordsScore;
+        if (tilesPlayed == BINGO_SIZE) {
+            score += BINGO_BONUS;
+        }
+        // step back onto the first letter of the word
+        row += rowStep;
+        col += colStep;
+        if (score > bestScore || (score == bestScore && compareToBest(row, col,
+                direction, new String(letters, start, end - start)) < 0)) {
+            bestScore = score;
+            bestWord = new String(letters, start, end - start);
+            bestEnd = new Point(lastPoint);
+            bestDirection = direction;
+            bestPlaced = placed;
+            bestMove = null;
+        }
+        movesFound++;
+        // one tile that makes a word across is also found going across
+        boolean repeated = tilesPlayed == 1 && crossed && direction == Direction.DOWN;
+        if (topMoves != null && !repeated && (topMoves.size() < topCount
+                || score >= topMoves.peek().getScore())) {
+            addTopMove(new Move(new String(letters, start, end - start), row, col,
+                    direction, score, tray.toString(), placed));
+        }
+        if (stats != null) {
+            stats.addScoring(System.nanoTime() - scoreStart);
+        }
+    }
+
+    /**
+     * adds a move to the highest scoring moves if it is higher than the
+     * lowest one that is kept. If there are more moves than are wanted the
+     * lowest one is removed. Moves with the same score are kept in the order
+     * of BEST_FIRST so the same moves are kept by every engine
+     *
+     * @param move the move that is being added
+     */
+    private void addTopMove(Move move) {
+        if (topMoves.size() < topCount) {
+            topMoves.add(move);
+        } else if (WORST_FIRST.compare(move, topMoves.peek()) > 0) {
+            topMoves.poll();
+            topMoves.add(move);
         }
     }
 
@@ -138,30 +427,35 @@ public class Solver {
      * at all the current children to see if we have that letter in our tray.
      * if we do then it calls itself and keeps going.
      *
-     * @param partialWord part of a word that is being checked and added to
+     * @param length      the number of letters of the part of a word that is
+     *                    being checked and added to
      * @param currentNode the current node in the word tree where we are looking
      *                    for children
      * @param nextPos     the next position that we at
      * @param limit       how many spaces we can go before the node before we go out
-     *                    of bounds of the board
+     *                    of bounds of the board or reach another anchor
      */
-    private void beforePart(String partialWord, TrieNode currentNode, Point nextPos, int limit) {
-        afterPart(partialWord, currentNode, nextPos, false);
+    private void beforePart(int length, int currentNode, Point nextPos, int limit) {
+        nodes++;
+        afterPart(length, currentNode, nextPos, false);
         if (limit > 0) {
-            TrieNode[] children = currentNode.children();
-            for (int i = 0; i < children.length; i++) {
-                TrieNode child = children[i];
-                if (child != null && tray.contains((char) ('a' + i))) {
-                    tray.remove(tray.indexOf((char) ('a' + i)));
-                    beforePart(partialWord + (char) ('a' + i),
-                            child, nextPos, limit - 1);
-                    tray.add((char) ('a' + i));
+            for (int child = words.firstChild(currentNode); child != Dawg.NONE;
+                 child = words.nextChild(child)) {
+                int i = words.letter(child);
+                if (stats != null && !tray.has(i) && !tray.hasBlank()) {
+                    stats.reject(SolverStats.Rejection.NOT_IN_TRAY);
                 }
-                if (child != null && tray.contains('*')) {
-                    tray.remove(tray.indexOf('*'));
-                    beforePart(partialWord + (char) (('a' + i) - 32),
-                            child, nextPos, limit - 1);
-                    tray.add('*');
+                if (tray.has(i)) {
+                    tray.remove(i);
+                    letters[length] = (char) ('a' + i);
+                    beforePart(length + 1, child, nextPos, limit - 1);
+                    tray.add(i);
+                }
+                if (tray.hasBlank()) {
+                    tray.removeBlank();
+                    letters[length] = (char) (('a' + i) - 32);
+                    beforePart(length + 1, child, nextPos, limit - 1);
+                    tray.addBlank();
                 }
 
             }
@@ -184,142 +478,810 @@ public class Solver {
      * after each recursive call it move backwards and adds the letter it placed into
      * the partial word back onto the tray.
      *
-     * @param partialWord  part of a word that is being checked and added to
+     * @param length       the number of letters of the part of a word that is
+     *                     being checked and added to
      * @param currentNode  the current node in the word tree where we are looking
      *                     for children
      * @param nextPos      the next position that we at
      * @param anchorFilled if the anchor that we are checking has been filled yet
      */
-    private void afterPart(String partialWord, TrieNode currentNode,
+    private void afterPart(int length, int currentNode,
                            Point nextPos, boolean anchorFilled) {
-        if (currentNode.isWord() && !board.hasLetter(nextPos.y, nextPos.x)
+        nodes++;
+        if (words.isWord(currentNode) && !board.hasLetter(nextPos.y, nextPos.x)
                 && anchorFilled) {
             before(nextPos);
-            legalMove(partialWord, nextPos);
+            legalMove(0, length, nextPos);
             after(nextPos);
         }
         if (board.inBounds(nextPos.y, nextPos.x)) {
             if (!board.hasLetter(nextPos.y, nextPos.x)) {
-                TrieNode[] children = currentNode.children();
-                for (int i = 0; i < children.length; i++) {
-                    TrieNode child = children[i];
-                    if (child != null && tray.contains((char) ('a' + i))) {
-                        tray.remove(tray.indexOf((char) ('a' + i)));
+                for (int child = words.firstChild(currentNode); child != Dawg.NONE;
+                     child = words.nextChild(child)) {
+                    int i = words.letter(child);
+                    if (stats != null) {
+                        reject(i, nextPos);
+                    }
+                    if (crossCheck(i, nextPos) && tray.has(i)) {
+                        tray.remove(i);
+                        letters[length] = (char) ('a' + i);
                         after(nextPos);
-                        afterPart(partialWord + (char) ('a' + i),
-                                child, nextPos, true);
+                        afterPart(length + 1, child, nextPos, true);
                         before(nextPos);
-                        tray.add((char) ('a' + i));
+                        tray.add(i);
                     }
-                    if (child != null && tray.contains('*')) {
-                        tray.remove(tray.indexOf('*'));
+                    if (crossCheck(i, nextPos) && tray.hasBlank()) {
+                        tray.removeBlank();
+                        letters[length] = (char) (('a' + i) - 32);
                         after(nextPos);
-                        afterPart(partialWord + (char) (('a' + i) - 32),
-                                child, nextPos, true);
+                        afterPart(length + 1, child, nextPos, true);
                         before(nextPos);
-                        tray.add('*');
+                        tray.addBlank();
                     }
                 }
             } else {
                 char existingLetter =
-                        board.getBoard()[nextPos.y][nextPos.x].getLetter();
-                if (currentNode.getChild(existingLetter) != null) {
+                        board.getLetter(nextPos.y, nextPos.x);
+                int child = words.getChild(currentNode, existingLetter);
+                if (child != Dawg.NONE) {
+                    letters[length] = existingLetter;
                     after(nextPos);
-                    afterPart(partialWord + existingLetter,
-                            currentNode.getChild(existingLetter), nextPos, true);
+                    afterPart(length + 1, child, nextPos, true);
                     before(nextPos);
+                } else if (stats != null) {
+                    stats.reject(SolverStats.Rejection.BOARD_LETTER);
                 }
             }
         }
     }
 
+    /**
+     * Recursive method used by the GADDAG engine to build a word outwards from
+     * an anchor. It starts at the anchor and moves backwards placing letters
+     * until the separator is followed, then it goes back to the square after
+     * the anchor and moves forwards. If there is a letter on the board in the
+     * current position it must follow that letter in the gaddag. If not each
+     * child is checked to see if we have that letter in our tray. When moving
+     * backwards it will not place a letter on another anchor since that move
+     * is found when that anchor is checked. The word is kept in the letters
+     * between start and end and grows to the left of start when moving
+     * backwards and to the right of end when moving forwards
+     *
+     * @param start       index in the letters of the first letter of the word
+     * @param end         index in the letters after the last letter of the word
+     * @param currentNode the current node in the gaddag where we are looking
+     *                    for children
+     * @param nextPos     the next position that we at
+     * @param anchor      the anchor that the word is being built from
+     * @param forwards    if the word is being built forwards or backwards
+     */
+    private void gaddagPart(int start, int end, int currentNode,
+                            Point nextPos, Point anchor, boolean forwards) {
+        nodes++;
+        if (!board.inBounds(nextPos.y, nextPos.x)) {
+            return;
+        }
+        if (board.hasLetter(nextPos.y, nextPos.x)) {
+            char existingLetter =
+                    board.getLetter(nextPos.y, nextPos.x);
+            int child = gaddag.getChild(currentNode, existingLetter);
+            if (child != Dawg.NONE) {
+                gaddagNext(start, end, existingLetter, child, nextPos,
+                        anchor, forwards);
+            } else if (stats != null) {
+                stats.reject(SolverStats.Rejection.BOARD_LETTER);
+            }
+        } else if (forwards || nextPos.equals(anchor)
+                || !anchorSquares[nextPos.y][nextPos.x]) {
+            for (int child = gaddag.firstChild(currentNode); child != Dawg.NONE
+                    && gaddag.letter(child) < 26; child = gaddag.nextChild(child)) {
+                int i = gaddag.letter(child);
+                if (stats != null) {
+                    reject(i, nextPos);
+                }
+                if (crossCheck(i, nextPos) && tray.has(i)) {
+                    tray.remove(i);
+                    gaddagNext(start, end, (char) ('a' + i), child, nextPos,
+                            anchor, forwards);
+                    tray.add(i);
+                }
+                if (crossCheck(i, nextPos) && tray.hasBlank()) {
+                    tray.removeBlank();
+                    gaddagNext(start, end, (char) (('a' + i) - 32), child,
+                            nextPos, anchor, forwards);
+                    tray.addBlank();
+                }
+            }
+        }
+    }
+
+    /**
+     * Method used by the GADDAG engine after a letter was placed at a position.
+     * If the word is complete and nothing is next to either end of it then
+     * the legal move method is called. It then keeps moving in the same
+     * direction and if it is moving backwards and the separator can be
+     * followed it also starts moving forwards from the square after the anchor
+     *
+     * @param start       index in the letters of the first letter of the word
+     *                    before the letter was placed
+     * @param end         index in the letters after the last letter of the word
+     *                    before the letter was placed
+     * @param letter      the letter that was placed
+     * @param currentNode the node of the letter that was just placed
+     * @param pos         the position the letter was placed
+     * @param anchor      the anchor that the word is being built from
+     * @param forwards    if the word is being built forwards or backwards
+     */
+    private void gaddagNext(int start, int end, char letter,
+                            int currentNode, Point pos, Point anchor,
+                            boolean forwards) {
+        if (forwards) {
+            letters[end++] = letter;
+            after(pos);
+            if (gaddag.isWord(currentNode) && !board.hasLetter(pos.y, pos.x)) {
+                before(pos);
+                legalMove(start, end, pos);
+                after(pos);
+            }
+            gaddagPart(start, end, currentNode, pos, anchor, true);
+            before(pos);
+        } else {
+            letters[--start] = letter;
+            Point afterAnchor = new Point(anchor);
+            after(afterAnchor);
+            before(pos);
+            if (!board.hasLetter(pos.y, pos.x)) {
+                if (gaddag.isWord(currentNode)
+                        && !board.hasLetter(afterAnchor.y, afterAnchor.x)) {
+                    legalMove(start, end, anchor);
+                }
+                int separator = gaddag.getChild(currentNode, Dawg.SEPARATOR);
+                if (separator != Dawg.NONE) {
+                    gaddagPart(start, end, separator, afterAnchor,
+                            anchor, true);
+                }
+            }
+            gaddagPart(start, end, currentNode, pos, anchor, false);
+            after(pos);
+        }
+    }
+
     /**
      * A method that will find all options of move that can be made
      * it does this by look each direction and every anchor position and calls
      * methods to look at the words that can go there.
+     * The anchors and the cross checks are found once before any words are
+     * built
      */
     public void findAllOptions() {
+        long key = cacheKey();
+        if (loadCached(key)) {
+            return;
+        }
+        prepareSearch();
+        long start = stats != null ? System.nanoTime() : 0;
         for (Direction direction : Direction.values()) {
             this.direction = direction;
-            ArrayList<BoardSquare> anchors = findAnchors();
-            for (BoardSquare anchor : anchors) {
-                ArrayList<BoardSquare> connections = new ArrayList<>();
-                Point anchorPos = new Point(anchor.getCol(), anchor.getRow());
+            for (int i = 0; i < anchors.size(); i++) {
+                findAnchorOptions(anchors.get(i));
+            }
+        }
+        if (stats != null) {
+            stats.addGeneration(nodes, movesFound, System.nanoTime() - start);
+        }
+        saveCached(key);
+    }
+
+    /**
+     * sets the stats that the counts and times of every search of this
+     * solver are added to. A solver without stats does not count anything
+     *
+     * @param stats the stats or null to not keep stats
+     */
+    public void setStats(SolverStats stats) {
+        this.stats = stats;
+    }
+
+    /**
+     * counts why a letter can not be placed on an empty square if it can not
+     *
+     * @param letter index of the letter in the alphabet
+     * @param pos    the square
+     */
+    private void reject(int letter, Point pos) {
+        if (!crossCheck(letter, pos)) {
+            stats.reject(SolverStats.Rejection.CROSS_CHECK);
+        } else if (!tray.has(letter) && !tray.hasBlank()) {
+            stats.reject(SolverStats.Rejection.NOT_IN_TRAY);
+        }
+    }
+
+    /**
+     * sets the cache that the best move of a position is looked for in
+     * before searching and saved to after searching. Searches for the
+     * highest scoring moves do not use the cache
+     *
+     * @param cache the cache or null to not use one
+     */
+    public void setCache(SolverCache cache) {
+        this.cache = cache;
+    }
+
+    /**
+     * gets the key of the current board, tray and engine in the cache
+     *
+     * @return the key or 0 if no cache is used
+     */
+    private long cacheKey() {
+        if (cache == null || topCount > 0) {
+            return 0;
+        }
+        return board.getHash() ^ Zobrist.tray(tray) ^ (engine.ordinal() + 1);
+    }
+
+    /**
+     * looks for the best move of the position in the cache and makes it
+     * the best move of this solver if it is found. Everything else an
+     * earlier search left behind is reset so a hit looks like a new search
+     * that looked at no nodes
+     *
+     * @param key the key of the position
+     * @return if the position was in the cache
+     */
+    private boolean loadCached(long key) {
+        if (cache == null || topCount > 0) {
+            return false;
+        }
+        Move move = cache.get(key);
+        if (move == null) {
+            return false;
+        }
+        bestMove = null;
+        movesFound = 0;
+        nodes = 0;
+        topMoves = null;
+        bestScore = move.getScore();
+        bestWord = move.getWord();
+        if (bestWord != null) {
+            int length = bestWord.length() - 1;
+            bestDirection = move.getDirection();
+            bestEnd = bestDirection == Direction.DOWN
+                    ? new Point(move.getCol(), move.getRow() + length)
+                    : new Point(move.getCol() + length, move.getRow());
+            bestPlaced = 0;
+            for (int i = 0; i < move.getTileCount(); i++) {
+                bestPlaced |= 1 << (move.getTileRow(i) - move.getRow()
+                        + move.getTileCol(i) - move.getCol());
+            }
+        }
+        return true;
+    }
+
+    /**
+     * saves the best move of the last search to the cache
+     *
+     * @param key the key of the position
+     */
+    private void saveCached(long key) {
+        if (cache != null && topCount == 0) {
+            Move move = getBestPlay();
+            cache.put(key, move != null ? move : NO_MOVE);
+        }
+    }
+
+    /**
+     * Finds the highest scoring moves that can be made. Only the number of
+     * moves that are wanted are kept while searching. Moves with the same
+     * score are ordered by row, column, direction and word. A single tile
+     * that makes a word both across and down is only in the list once as a
+     * move across
+     *
+     * @param count the number of moves that are wanted or Integer.MAX_VALUE
+     *              for every move
+     * @return the moves from highest to lowest score
+     */
+    public ArrayList<Move> findTopMoves(int count) {
+        topCount = count;
+        findAllOptions();
+        return getTopMoves();
+    }
+
+    /**
+     * Finds the highest scoring moves that can be made using the provided
+     * pool. The moves are the same as findTopMoves without a pool would find
+     *
+     * @param count the number of moves that are wanted
+     * @param pool  the pool that the work is split across
+     * @return the moves from highest to lowest score
+     */
+    public ArrayList<Move> findTopMoves(int count, ForkJoinPool pool) {
+        topCount = count;
+        findAllOptions(pool);
+        return getTopMoves();
+    }
+
+    /**
+     * gets the highest scoring moves that were found in the last search
+     * made by findTopMoves from highest to lowest score
+     *
+     * @return the list of moves
+     */
+    private ArrayList<Move> getTopMoves() {
+        ArrayList<Move> moves = new ArrayList<>(topMoves);
+        moves.sort(WORST_FIRST.reversed());
+        topCount = 0;
+        topMoves = null;
+        return moves;
+    }
+
+    /**
+     * Finds all options of moves that can be made the same as findAllOptions
+     * but splits the work of every anchor in each direction across the
+     * provided pool. Each task has its own copy of the tray and its own best
+     * move. The best moves are combined with the same tie break that
+     * legalMove uses so the best move is always the same as findAllOptions
+     * would find.
+     * The board must not be changed until this method returns
+     *
+     * @param pool the pool that the work is split across
+     */
+    public void findAllOptions(ForkJoinPool pool) {
+        long key = cacheKey();
+        if (loadCached(key)) {
+            return;
+        }
+        prepareSearch();
+        long start = stats != null ? System.nanoTime() : 0;
+        Solver best = pool.invoke(new AnchorTask(0,
+                Direction.values().length * anchors.size()));
+        if (stats != null) {
+            stats.add(best.stats);
+            stats.addGeneration(0, 0, System.nanoTime() - start);
+        }
+        if (best.bestWord != null) {
+            bestScore = best.bestScore;
+            bestWord = best.bestWord;
+            bestEnd = best.bestEnd;
+            bestDirection = best.bestDirection;
+            bestPlaced = best.bestPlaced;
+        }
+        topMoves = best.topMoves;
+        nodes = best.nodes;
+        saveCached(key);
+    }
+
+    /**
+     * resets the best move and finds everything that is shared by every
+     * anchor before a search. This is the anchors, the cross checks and
+     * the root of the gaddag if the GADDAG engine is used
+     */
+    private void prepareSearch() {
+        bestScore = -1;
+        bestWord = null;
+        bestMove = null;
+        movesFound = 0;
+        nodes = 0;
+        if (topCount > 0) {
+            topMoves = new PriorityQueue<>(Math.min(topCount, TOP_CAPACITY) + 1,
+                    WORST_FIRST);
+        }
+        long start = stats != null ? System.nanoTime() : 0;
+        anchors = findAnchors();
+        anchorSquares = new boolean[board.getSize()][board.getSize()];
+        for (Point anchor : anchors) {
+            anchorSquares[anchor.y][anchor.x] = true;
+        }
+        long anchorsFound = stats != null ? System.nanoTime() : 0;
+        findCrossChecks();
+        if (stats != null) {
+            stats.addPrepare(anchors.size(), anchorsFound - start,
+                    System.nanoTime() - anchorsFound);
+        }
+        if (engine == Engine.GADDAG) {
+            gaddag = dictionary.getGaddag();
+        }
+    }
+
+    /**
+     * Finds all the moves that can be made from a single anchor in the
+     * current direction with the engine of the solver
+     *
+     * @param anchor the anchor the words are built from
+     */
+    private void findAnchorOptions(Point anchor) {
+        Point anchorPos = new Point(anchor);
+        if (engine == Engine.GADDAG) {
+            gaddagPart(letters.length / 2, letters.length / 2, gaddag.root(),
+                    new Point(anchorPos), anchorPos, false);
+            return;
+        }
+        before(anchorPos);
+        if (board.hasLetter(anchorPos.y, anchorPos.x)) {
+            while (board.hasLetter(anchorPos.y, anchorPos.x)) {
                 before(anchorPos);
-                if (board.hasLetter(anchorPos.y, anchorPos.x)) {
-                    board.findConnectionBackwards(new ArrayList<>(), board,
-                            anchor.getRow(), anchor.getCol() - 1, connections, true);
-                    String partialWord = "";
-                    for (BoardSquare connection : connections) {
-                        partialWord += connection.getLetter();
-                    }
-                    TrieNode current = dictionary.getWords().lookUp(partialWord);
-                    if (current != null) {
-                        afterPart(partialWord, current, new Point(anchor.getCol(),
-                                anchor.getRow()), false);
-                    }
-                } else {
-                    int limit = 0;
-                    Point temp = new Point(anchor.getCol(), anchor.getRow());
-                    before(temp);
-                    while (board.inBounds(temp.y, temp.x) && !board.hasLetter(temp.y, temp.x)) {
-                        limit++;
-                        before(temp);
-                    }
-                    beforePart("", dictionary.getWords().lookUp(""),
-                            new Point(anchor.getCol(), anchor.getRow()), limit);
+            }
+            after(anchorPos);
+            int length = 0;
+            int current = words.root();
+            while (current != Dawg.NONE && board.hasLetter(anchorPos.y, anchorPos.x)) {
+                letters[length] = board.getLetter(anchorPos.y, anchorPos.x);
+                current = words.getChild(current, letters[length++]);
+                after(anchorPos);
+            }
+            if (current != Dawg.NONE) {
+                afterPart(length, current, new Point(anchor), false);
+            }
+        } else {
+            int limit = 0;
+            Point temp = new Point(anchor);
+            before(temp);
+            while (board.inBounds(temp.y, temp.x) && !board.hasLetter(temp.y, temp.x)
+                    && !anchorSquares[temp.y][temp.x]) {
+                limit++;
+                before(temp);
+            }
+            beforePart(0, words.root(), new Point(anchor), limit);
+        }
+    }
+
+    /**
+     * A task used to find the moves of a range of anchors in parallel.
+     * Each anchor in each direction is numbered with all the anchors going
+     * across first then all of them going down. The range is split in half
+     * until it is a single anchor which is searched by a copy of the solver
+     */
+    @SuppressWarnings("serial")
+    private class AnchorTask extends RecursiveTask<Solver> {
+        private final int start;
+        private final int end;
+
+        /**
+         * Constructor for a task of a range of anchors
+         *
+         * @param start the number of the first anchor in the range
+         * @param end   the number after the last anchor in the range
+         */
+        private AnchorTask(int start, int end) {
+            this.start = start;
+            this.end = end;
+        }
+
+        /**
+         * Finds the best move of the range. If there is more than one anchor
+         * in the range the first half is forked and the second half is done
+         * by this thread. If both halves have the same score the first
+         * half is kept. The highest scoring moves of the second half are
+         * added to the ones of the first half if they are being kept
+         *
+         * @return the solver that has the best move of the range
+         */
+        @Override
+        protected Solver compute() {
+            if (end - start <= 1) {
+                Solver search = new Solver(Solver.this);
+                if (start < end) {
+                    search.direction = Direction.values()[start / anchors.size()];
+                    search.findAnchorOptions(anchors.get(start % anchors.size()));
+                }
+                if (search.stats != null) {
+                    search.stats.addGeneration(search.nodes, search.movesFound, 0);
                 }
+                return search;
             }
+            int middle = (start + end) >>> 1;
+            AnchorTask first = new AnchorTask(start, middle);
+            first.fork();
+            Solver second = new AnchorTask(middle, end).compute();
+            Solver best = first.join();
+            best.nodes += second.nodes;
+            if (best.stats != null) {
+                best.stats.add(second.stats);
+            }
+            if (best.topMoves != null) {
+                for (Move move : second.topMoves) {
+                    best.addTopMove(move);
+                }
+            }
+            if (second.bestWord != null && (second.bestScore > best.bestScore
+                    || (second.bestScore == best.bestScore && best.compareToBest(
+                    second.bestRow(), second.bestCol(), second.bestDirection,
+                    second.bestWord) < 0))) {
+                best.bestScore = second.bestScore;
+                best.bestWord = second.bestWord;
+                best.bestEnd = second.bestEnd;
+                best.bestDirection = second.bestDirection;
+                best.bestPlaced = second.bestPlaced;
+            }
+            return best;
         }
     }
 
+    /**
+     * Finds the cross checks and cross scores of every empty square for both
+     * directions. The cross check is a mask with one bit for each letter
+     * that can be placed in that square without making a word that is not
+     * in the dictionary with the letters above and below it (or before and
+     * after it when playing down). The cross score is the score of the letters
+     * already on the board in that word or -1 if there is no word made.
+     */
+    private void findCrossChecks() {
+        int size = board.getSize();
+        crossChecks = new int[Direction.values().length][size][size];
+        crossScores = new int[Direction.values().length][size][size];
+        for (Direction direction : Direction.values()) {
+            int rowStep = direction == Direction.ACROSS ? 1 : 0;
+            int colStep = direction == Direction.ACROSS ? 0 : 1;
+            for (int row = 0; row < size; row++) {
+                for (int col = 0; col < size; col++) {
+                    if (!board.hasLetter(row, col)) {
+                        findCrossCheck(direction, row, col, rowStep, colStep);
+                    }
+                }
+            }
+        }
+    }
 
     /**
-     * reads the board and the tray that will be used in the solver
-     * from standard input
+     * Finds the cross check and cross score for a single empty square
      *
-     * @param sc   scanner used to read from the console
-     * @param tray an array of chars that is used to represent the tray
-     * @return the board that was read in from the console
+     * @param direction the direction a word is played in
+     * @param row       row of the square
+     * @param col       column of the square
+     * @param rowStep   how the row changes when moving across the cross word
+     * @param colStep   how the column changes when moving across the cross word
      */
-    private static Board readInputBoard(Scanner sc, ArrayList<Character> tray) {
-        Board board = Board.readInputBoard(sc);
-        String line = sc.next();
-        for (char c : line.toCharArray()) {
-            tray.add(c);
+    private void findCrossCheck(Direction direction, int row, int col,
+                                int rowStep, int colStep) {
+        int d = direction.ordinal();
+        if (!board.hasLetter(row - rowStep, col - colStep)
+                && !board.hasLetter(row + rowStep, col + colStep)) {
+            crossChecks[d][row][col] = ALL_LETTERS;
+            crossScores[d][row][col] = -1;
+            return;
+        }
+        int score = 0;
+        int startRow = row;
+        int startCol = col;
+        while (board.hasLetter(startRow - rowStep, startCol - colStep)) {
+            startRow -= rowStep;
+            startCol -= colStep;
+            score += board.getScore(startRow, startCol);
+        }
+        int prefix = words.root();
+        for (int r = startRow, c = startCol; prefix != Dawg.NONE && (r != row || c != col);
+             r += rowStep, c += colStep) {
+            prefix = words.getChild(prefix, board.getLetter(r, c));
+        }
+        for (int r = row + rowStep, c = col + colStep; board.hasLetter(r, c);
+             r += rowStep, c += colStep) {
+            score += board.getScore(r, c);
+        }
+        crossScores[d][row][col] = score;
+        if (prefix == Dawg.NONE) {
+            return;
+        }
+        for (int child = words.firstChild(prefix); child != Dawg.NONE;
+             child = words.nextChild(child)) {
+            int node = child;
+            for (int r = row + rowStep, c = col + colStep;
+                 node != Dawg.NONE && board.hasLetter(r, c);
+                 r += rowStep, c += colStep) {
+                node = words.getChild(node, board.getLetter(r, c));
+            }
+            if (words.isWord(node)) {
+                crossChecks[d][row][col] |= 1 << words.letter(child);
+            }
         }
-        return board;
+    }
+
+    /**
+     * checks to see if a letter can be placed at a position based on the
+     * cross check of that square in the current direction
+     *
+     * @param letter index of the letter in the alphabet
+     * @param pos    the position the letter is placed
+     * @return if the letter does not make an invalid cross word
+     */
+    private boolean crossCheck(int letter, Point pos) {
+        return (crossChecks[direction.ordinal()][pos.y][pos.x] & (1 << letter)) != 0;
     }
 
     /**
      * Main method that is used to read in and unlimited amount of boards and trays
      * and output the best possible move that can be made. There are required command
      * line arguments of the file path of the list of words that will be counted as
-     * valid words
+     * valid words. The other arguments are optional. The name of an engine
+     * either trie or gaddag picks the engine, --threads and a number picks how
+     * many positions are solved at the same time, --lines prints one line
+     * for each position instead of the boards and --cache and a number keeps
+     * the best move of up to that many positions so a position that is seen
+     * again is not searched again. The hit rate of the cache is printed to
+     * standard error at the end. --stats adds the stats of each position
+     * to the end of its line and prints the totals of every position to
+     * standard error at the end. Any other argument or an option with no
+     * number after it prints how to use the solver
      * @param args command line arguments
      */
     public static void main(String[] args) {
         if (args.length < 1) {
             System.out.println("Please enter a file name");
         } else {
-            Dictionary dictionary = new Dictionary(args[0]);
-            Scanner sc = new Scanner(System.in);
-            while (sc.hasNext()) {
-                ArrayList<Character> tray = new ArrayList<>();
-                Solver test = new Solver(dictionary, readInputBoard(sc, tray), tray);
-                System.out.println("Input Board:");
-                test.board.printBoard();
-                System.out.print("Tray: ");
-                for (char c : tray) {
-                    System.out.print(c);
+            Engine engine = Engine.TRIE;
+            int threads = Runtime.getRuntime().availableProcessors();
+            boolean lines = false;
+            SolverCache cache = null;
+            SolverStats stats = null;
+            for (int i = 1; i < args.length; i++) {
+                if (args[i].equals("--threads") && i + 1 < args.length) {
+                    threads = Integer.parseInt(args[++i]);
+                } else if (args[i].equals("--cache") && i + 1 < args.length) {
+                    cache = new SolverCache(Integer.parseInt(args[++i]));
+                } else if (args[i].equals("--stats")) {
+                    stats = new SolverStats();
+                } else if (args[i].equals("--lines")) {
+                    lines = true;
+                } else if (args[i].equalsIgnoreCase("trie")) {
+                    engine = Engine.TRIE;
+                } else if (args[i].equalsIgnoreCase("gaddag")) {
+                    engine = Engine.GADDAG;
+                } else {
+                    System.out.println(USAGE);
+                    return;
                 }
-                test.findAllOptions();
-                System.out.println("\nSolution " + test.bestWord + " has " +
-                        test.board.scoreBoard(test.bestMove, dictionary) +
-                        " points\nSolution Board:");
-                test.getBestMove().printBoard();
-                System.out.println();
             }
+            if (threads < 1) {
+                System.out.println("Please enter at least 1 thread");
+                return;
+            }
+            Dictionary dictionary = DictionaryRegistry.acquire(args[0]);
+            try {
+                solveAll(dictionary, engine, threads, lines, cache, stats,
+                        System.in, System.out);
+                if (cache != null) {
+                    System.err.println(cache);
+                }
+                if (stats != null) {
+                    System.err.println(stats);
+                }
+            } catch (IOException e) {
+                System.out.println(e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            DictionaryRegistry.release(dictionary);
+        }
+    }
+
+    /**
+     * Solves every position in the input on a pool of workers and writes
+     * the results in the same order the positions were read. The positions
+     * are read as they are needed by Pipeline.ordered so the whole input is
+     * never in memory at once
+     *
+     * @param dictionary the dictionary used for every position
+     * @param engine     the engine used to find the moves
+     * @param threads    the number of positions solved at the same time
+     * @param lines      if each result is one line instead of the boards
+     * @param cache      the cache shared by every position or null to not
+     *                   use one
+     * @param stats      the stats every position is added to or null to not
+     *                   keep stats
+     * @param in         where the boards and trays are read from
+     * @param out        where the results are written to
+     * @throws IOException          if the results could not be written
+     * @throws InterruptedException if the thread was interrupted while
+     *                              waiting for a result
+     */
+    public static void solveAll(Dictionary dictionary, Engine engine, int threads,
+                                boolean lines, SolverCache cache, SolverStats stats,
+                                InputStream in, OutputStream out)
+            throws IOException, InterruptedException {
+        AtomicInteger count = new AtomicInteger();
+        Iterator<Position> positions = new BoardReader(in).items(reader -> {
+            Board board = Board.readInputBoard(reader);
+            Rack tray = new Rack();
+            String letters = reader.nextTray(tray);
+            return new Position(board, tray, letters, count.getAndIncrement());
+        });
+        Pipeline.ordered(positions, position -> solve(dictionary, position.board,
+                position.tray, position.letters, engine, cache, stats,
+                position.number, lines), threads, new OutputStreamWriter(out));
+    }
+
+    /**
+     * A position is a board and a tray that were read from the input and
+     * the number of the position in the input starting at 0
+     */
+    private static class Position {
+        private final Board board;
+        private final Rack tray;
+        private final String letters;
+        private final int number;
+
+        /**
+         * Constructor for a position
+         *
+         * @param board   the board of the position
+         * @param tray    the tray of the position
+         * @param letters the tray as it was written in the input
+         * @param number  the number of the position in the input
+         */
+        private Position(Board board, Rack tray, String letters, int number) {
+            this.board = board;
+            this.tray = tray;
+            this.letters = letters;
+            this.number = number;
+        }
+    }
+
+    /**
+     * Finds the best move of one position and makes the text of the result
+     *
+     * @param dictionary the dictionary used to find the moves
+     * @param board      the board of the position
+     * @param tray       the tray of the position
+     * @param letters    the tray as it was written in the input
+     * @param engine     the engine used to find the moves
+     * @param cache      the cache of best moves or null
+     * @param stats      the stats the position is added to or null
+     * @param position   the number of the position in the input starting at 0
+     * @param line       if the result is one line instead of the boards
+     * @return the result of the position
+     */
+    private static String solve(Dictionary dictionary, Board board, Rack tray,
+                                String letters, Engine engine, SolverCache cache,
+                                SolverStats stats, int position, boolean line) {
+        Solver solver = new Solver(dictionary, board, tray, engine);
+        solver.setCache(cache);
+        SolverStats positionStats = stats != null ? new SolverStats() : null;
+        solver.setStats(positionStats);
+        solver.findAllOptions();
+        String result = line ? solver.resultLine(position, letters)
+                : solver.resultBoards(letters);
+        if (positionStats != null) {
+            stats.add(positionStats);
+            result = line ? result.substring(0, result.length() - 1) + '\t'
+                    + positionStats + '\n' : result + positionStats + '\n';
+        }
+        return result;
+    }
+
+    /**
+     * makes the result of the search with the board that was searched, the
+     * tray, the best word and score and the board after the best move
+     *
+     * @param letters the tray as it was written in the input
+     * @return the result as the boards and the best move
+     */
+    private String resultBoards(String letters) {
+        return "Input Board:\n" + board + "Tray: " + letters + "\nSolution " + bestWord
+                + " has " + bestScore + " points\nSolution Board:\n"
+                + getBestMove() + "\n";
+    }
+
+    /**
+     * makes the result of the search as one line with the values separated
+     * by tabs. The values are the number of the position, the tray, the best
+     * word, the row and column of the first letter of the word, the direction
+     * and the score. If no move was found the word, row, column and
+     * direction are - and the score is -1
+     *
+     * @param position the number of the position in the input
+     * @param letters  the tray as it was written in the input
+     * @return the result as one line
+     */
+    private String resultLine(int position, String letters) {
+        StringBuilder line = new StringBuilder(64);
+        line.append(position).append('\t').append(letters).append('\t');
+        if (bestWord == null) {
+            line.append("-\t-\t-\t-\t");
+        } else {
+            int length = bestWord.length() - 1;
+            int row = bestDirection == Direction.DOWN ? bestEnd.y - length : bestEnd.y;
+            int col = bestDirection == Direction.ACROSS ? bestEnd.x - length : bestEnd.x;
+            line.append(bestWord).append('\t').append(row).append('\t')
+                    .append(col).append('\t').append(bestDirection).append('\t');
         }
+        return line.append(bestScore).append('\n').toString();
     }
 }
@@ -0,0 +1,179 @@
+package scrabble;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A solver cache keeps the best move of positions that were already solved
+ * so the same board and tray are not searched again. A position is found by
+ * the Zobrist hash of the board, the tray and the engine. The cache is split
+ * into segments that each keep their own entries in least recently used
+ * order and have their own lock, so many threads can use one cache without
+ * waiting on each other much. When a segment is full the entry that was
+ * used the longest time ago is removed. A cache must only be used with one
+ * dictionary since the dictionary is not part of the key
+ *
+ * @author Logan Nunno
+ */
+public class SolverCache {
+    private static final int SEGMENTS = 16;
+    private Segment[] segments = new Segment[SEGMENTS];
+    private LongAdder hits = new LongAdder();
+    private LongAdder misses = new LongAdder();
+    private LongAdder evictions = new LongAdder();
+
+    /**
+     * Constructor for a cache
+     *
+     * @param capacity the most positions that are kept. It is rounded up so
+     *                 every segment keeps the same number
+     */
+    public SolverCache(int capacity) {
+        int segmentCapacity = Math.max(1, (capacity + SEGMENTS - 1) / SEGMENTS);
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments[i] = new Segment(segmentCapacity);
+        }
+    }
+
+    /**
+     * The entries of one part of the cache in least recently used order
+     */
+    @SuppressWarnings("serial")
+    private class Segment extends LinkedHashMap<Long, Move> {
+        private final int capacity;
+
+        /**
+         * Constructor for a segment
+         *
+         * @param capacity the most entries the segment keeps
+         */
+        private Segment(int capacity) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        /**
+         * removes the entry that was used the longest time ago when there
+         * are more entries than the segment can keep
+         *
+         * @param eldest the entry that was used the longest time ago
+         * @return if the entry is removed
+         */
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Move> eldest) {
+            if (size() > capacity) {
+                evictions.increment();
+                return true;
+            }
+            return false;
+        }
+    }
+
+    /**
+     * gets the segment a key belongs to
+     *
+     * @param key the key of a position
+     * @return the segment
+     */
+    private Segment segment(long key) {
+        return segments[(int) (key >>> 60)];
+    }
+
+    /**
+     * gets the best move of a position if it is in the cache and counts
+     * whether it was found
+     *
+     * @param key the key of the position
+     * @return the best move or null if the position is not in the cache
+     */
+    public Move get(long key) {
+        Segment segment = segment(key);
+        Move move;
+        synchronized (segment) {
+            move = segment.get(key);
+        }
+        if (move == null) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+        return move;
+    }
+
+    /**
+     * adds the best move of a position to the cache
+     *
+     * @param key  the key of the position
+     * @param move the best move of the position
+     */
+    public void put(long key, Move move) {
+        Segment segment = segment(key);
+        synchronized (segment) {
+            segment.put(key, move);
+        }
+    }
+
+    /**
+     * gets the number of positions in the cache
+     *
+     * @return the number of positions
+     */
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * gets the number of times a position was found in the cache
+     *
+     * @return the number of hits
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * gets the number of times a position was not found in the cache
+     *
+     * @return the number of misses
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * gets the number of positions that were removed to make room
+     *
+     * @return the number of evictions
+     */
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    /**
+     * gets the fraction of lookups that found the position
+     *
+     * @return the hit rate from 0 to 1 or 0 if there were no lookups
+     */
+    public double getHitRate() {
+        long hits = getHits();
+        long total = hits + getMisses();
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+    /**
+     * A string representation of the cache with its size and hit rate
+     *
+     * @return a string with the size, hits, misses, evictions and hit rate
+     */
+    public String toString() {
+        return String.format("cache size %d hits %d misses %d evictions %d hit rate %.1f%%",
+                size(), getHits(), getMisses(), getEvictions(), getHitRate() * 100);
+    }
+}
@@ -0,0 +1,195 @@
+package scrabble;
+
+/**
+ * Solver stats are the counts and times of what a solver did in a search.
+ * They are only kept when a solver is given a stats object so a solver
+ * without one does no extra work. The stats of many searches can be added
+ * together to get the totals of a batch of positions
+ *
+ * @author Logan Nunno
+ */
+public class SolverStats {
+    /**
+     * The reasons a letter was not placed on a square while building words
+     * CROSS_CHECK means the letter would make a word across the square that
+     * is not in the dictionary
+     * NOT_IN_TRAY means the tray did not have the letter or a blank
+     * BOARD_LETTER means the letter already on the square could not follow
+     * the part of the word before it
+     */
+    public enum Rejection {
+        CROSS_CHECK,
+        NOT_IN_TRAY,
+        BOARD_LETTER
+    }
+
+    private long searches;
+    private long anchors;
+    private long nodes;
+    private long candidates;
+    private long[] rejections = new long[Rejection.values().length];
+    private long anchorNanos;
+    private long crossCheckNanos;
+    private long generationNanos;
+    private long scoringNanos;
+
+    /**
+     * counts a letter that was not placed
+     *
+     * @param reason the reason it was not placed
+     */
+    void reject(Rejection reason) {
+        rejections[reason.ordinal()]++;
+    }
+
+    /**
+     * adds the work of the parts of a search that are done before any
+     * words are built
+     *
+     * @param anchors         the number of anchors that were found
+     * @param anchorNanos     the time spent finding the anchors
+     * @param crossCheckNanos the time spent finding the cross checks
+     */
+    void addPrepare(int anchors, long anchorNanos, long crossCheckNanos) {
+        searches++;
+        this.anchors += anchors;
+        this.anchorNanos += anchorNanos;
+        this.crossCheckNanos += crossCheckNanos;
+    }
+
+    /**
+     * adds the work of building words
+     *
+     * @param nodes           the number of nodes that were looked at
+     * @param candidates      the number of moves that were scored
+     * @param generationNanos the time spent building words
+     */
+    void addGeneration(long nodes, long candidates, long generationNanos) {
+        this.nodes += nodes;
+        this.candidates += candidates;
+        this.generationNanos += generationNanos;
+    }
+
+    /**
+     * adds time spent scoring a move
+     *
+     * @param nanos the time spent scoring
+     */
+    void addScoring(long nanos) {
+        scoringNanos += nanos;
+    }
+
+    /**
+     * adds the stats of another object to these stats. Only one thread can
+     * add to the same stats at a time
+     *
+     * @param stats the stats that are added
+     */
+    public synchronized void add(SolverStats stats) {
+        searches += stats.searches;
+        anchors += stats.anchors;
+        nodes += stats.nodes;
+        candidates += stats.candidates;
+        for (int i = 0; i < rejections.length; i++) {
+            rejections[i] += stats.rejections[i];
+        }
+        anchorNanos += stats.anchorNanos;
+        crossCheckNanos += stats.crossCheckNanos;
+        generationNanos += stats.generationNanos;
+        scoringNanos += stats.scoringNanos;
+    }
+
+    /**
+     * gets the number of searches
+     * @return the number of searches
+     */
+    public long getSearches() {
+        return searches;
+    }
+
+    /**
+     * gets the number of anchors that were searched from
+     * @return the number of anchors
+     */
+    public long getAnchors() {
+        return anchors;
+    }
+
+    /**
+     * gets the number of nodes that were looked at while building words
+     * @return the number of nodes
+     */
+    public long getNodes() {
+        return nodes;
+    }
+
+    /**
+     * gets the number of moves that were found and scored
+     * @return the number of moves
+     */
+    public long getCandidates() {
+        return candidates;
+    }
+
+    /**
+     * gets the number of letters that were not placed for a reason
+     * @param reason the reason
+     * @return the number of letters
+     */
+    public long getRejections(Rejection reason) {
+        return rejections[reason.ordinal()];
+    }
+
+    /**
+     * gets the time spent finding anchors
+     * @return the time in nanoseconds
+     */
+    public long getAnchorNanos() {
+        return anchorNanos;
+    }
+
+    /**
+     * gets the time spent finding cross checks
+     * @return the time in nanoseconds
+     */
+    public long getCrossCheckNanos() {
+        return crossCheckNanos;
+    }
+
+    /**
+     * gets the time spent building words including scoring the moves. When
+     * a pool is used this is the time until every thread was done
+     * @return the time in nanoseconds
+     */
+    public long getGenerationNanos() {
+        return generationNanos;
+    }
+
+    /**
+     * gets the time spent scoring moves added up over every thread
+     * @return the time in nanoseconds
+     */
+    public long getScoringNanos() {
+        return scoringNanos;
+    }
+
+    /**
+     * A string representation of the stats with each value after its name
+     * @return a string with every count and the times in microseconds
+     */
+    public synchronized String toString() {
+        StringBuilder s = new StringBuilder(256);
+        s.append("searches ").append(searches)
+                .append(" anchors ").append(anchors)
+                .append(" nodes ").append(nodes)
+                .append(" candidates ").append(candidates);
+        for (Rejection reason : Rejection.values()) {
+            s.append(' ').append(reason.toString().toLowerCase()).append(' ')
+                    .append(rejections[reason.ordinal()]);
+        }
+        return s.append(" anchor_us ").append(anchorNanos / 1000)
+                .append(" cross_check_us ").append(crossCheckNanos / 1000)
+                .append(" generation_us ").append(generationNanos / 1000)
+                .append(" scoring_us ").append(scoringNanos / 1000).toString();
+    }
+}
@@ -0,0 +1,400 @@
+package scrabble;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * A word index answers questions about the words of a dictionary that the
+ * solver does not ask, like which words can be made from some letters or
+ * which words fit a pattern. Anagrams of a full set of letters are found by
+ * the signature of the letters. The signature is the Zobrist hash of how many
+ * of each letter there are so every order of the same letters has the same
+ * signature, and the index keeps the words of each signature together.
+ * Patterns and words that use only some of the letters are found by walking
+ * the dawg and only following the letters that can still fit.
+ * <p>
+ * The results are streams that find the next word only when it is asked
+ * for, so a query that only wants the first few words stops walking early.
+ * Words are given in alphabetical order and blanks are upper case. Once it
+ * is built an index is never changed so many threads can query it at once
+ *
+ * @author Logan Nunno
+ */
+public class WordIndex {
+    /**
+     * the character that can be any letter in a pattern or a set of letters
+     */
+    public static final char BLANK = '?';
+    private static final int MAX_LENGTH = 32;
+
+    private Dawg words;
+    private HashMap<Long, String[]> anagrams = new HashMap<>();
+
+    /**
+     * Constructor for an index of every word in a dictionary
+     *
+     * @param dictionary the dictionary that is indexed
+     */
+    public WordIndex(Dictionary dictionary) {
+        this.words = dictionary.getWords();
+        HashMap<Long, ArrayList<String>> groups = new HashMap<>();
+        for (Iterator<String> all = new Walk(null, null, 1, MAX_LENGTH); all.hasNext(); ) {
+            String word = all.next();
+            groups.computeIfAbsent(signature(new Rack(word)), key -> new ArrayList<>(2))
+                    .add(word);
+        }
+        for (Map.Entry<Long, ArrayList<String>> group : groups.entrySet()) {
+            anagrams.put(group.getKey(), group.getValue().toArray(new String[0]));
+        }
+    }
+
+    /**
+     * gets every word that uses all of the letters. A '?' or '*' is a blank
+     * that can be any letter
+     *
+     * @param letters the letters of the words
+     * @return the words in alphabetical order
+     */
+    public Stream<String> anagrams(String letters) {
+        Rack rack = rack(letters);
+        if (rack.hasBlank()) {
+            return stream(new Walk(null, rack, rack.size(), rack.size()));
+        }
+        String[] group = anagrams.get(signature(rack));
+        if (group == null) {
+            return Stream.empty();
+        }
+        return Stream.of(group).filter(word -> sameLetters(word, rack));
+    }
+
+    /**
+     * gets every word that can be made from some or all of the letters.
+     * A '?' or '*' is a blank that can be any letter
+     *
+     * @param letters the letters that can be used
+     * @return the words in alphabetical order
+     */
+    public Stream<String> words(String letters) {
+        Rack rack = rack(letters);
+        return stream(new Walk(null, rack, 1, rack.size()));
+    }
+
+    /**
+     * gets every word that fits a pattern. Each letter of the pattern must
+     * be the same letter in the word and a '?' can be any letter, so ?a??e
+     * is every five letter word with an a second and an e last
+     *
+     * @param pattern the pattern the words fit
+     * @return the words in alphabetical order
+     */
+    public Stream<String> matching(String pattern) {
+        return matching(pattern, null);
+    }
+
+    /**
+     * gets every word that fits a pattern and that can be made with some of
+     * the letters in the pattern and the rest from the provided letters. The
+     * letters in the pattern are already on the board so they are not taken
+     * from the letters
+     *
+     * @param pattern the pattern the words fit
+     * @param letters the letters used for the '?' of the pattern or null if
+     *                any letter can be used
+     * @return the words in alphabetical order
+     */
+    public Stream<String> matching(String pattern, String letters) {
+        if (pattern.length() > MAX_LENGTH) {
+            return Stream.empty();
+        }
+        char[] fixed = pattern.toLowerCase().toCharArray();
+        return stream(new Walk(fixed, letters == null ? null : rack(letters),
+                fixed.length, fixed.length));
+    }
+
+    /**
+     * gets the number of different signatures in the index. Words that are
+     * anagrams of each other share one signature
+     *
+     * @return the number of signatures
+     */
+    public int size() {
+        return anagrams.size();
+    }
+
+    /**
+     * gets the signature of some letters. It is the same for every order of
+     * the letters
+     *
+     * @param rack the letters
+     * @return the signature
+     */
+    private static long signature(Rack rack) {
+        return Zobrist.tray(rack);
+    }
+
+    /**
+     * makes a rack from letters where a '?' is a blank
+     *
+     * @param letters the letters
+     * @return the rack
+     */
+    private static Rack rack(String letters) {
+        Rack rack = new Rack(letters.replace(BLANK, '*'));
+        if (rack.size() > MAX_LENGTH) {
+            return new Rack();
+        }
+        return rack;
+    }
+
+    /**
+     * checks that a word has exactly the letters of a rack. Two different sets
+     * of letters can have the same signature so the letters are checked
+     *
+     * @param word the word
+     * @param rack the letters with no blanks
+     * @return if the word has the same letters
+     */
+    private static boolean sameLetters(String word, Rack rack) {
+        Rack letters = new Rack(word);
+        for (int i = 0; i < 26; i++) {
+            if (letters.count(i) != rack.count(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * makes a stream that takes each word from an iterator when it is needed
+     *
+     * @param walk the iterator of the words
+     * @return the stream of the words
+     */
+    private static Stream<String> stream(Iterator<String> walk) {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(walk,
+                Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.NONNULL),
+                false);
+    }
+
+    /**
+     * A walk goes through the dawg in alphabetical order and finds the words
+     * that fit one at a time. It keeps the child it is on at each depth so it
+     * can stop after a word and carry on from the same place when the next
+     * word is asked for
+     */
+    private class Walk implements Iterator<String> {
+        private final char[] pattern;
+        private final Rack rack;
+        private final int minLength;
+        private final int maxLength;
+        private final int[] children;
+        private final boolean[] blanks;
+        private final char[] word;
+        private int depth;
+        private String next;
+
+        /**
+         * Constructor for a walk from the root of the dawg
+         *
+         * @param pattern   the letter each place must be where a '?' is any
+         *                  letter or null if there is no pattern
+         * @param rack      the letters that can be used or null if any letter
+         *                  can be used
+         * @param minLength the fewest letters a word can have
+         * @param maxLength the most letters a word can have
+         */
+        private Walk(char[] pattern, Rack rack, int minLength, int maxLength) {
+            this.pattern = pattern;
+            this.rack = rack == null ? null : new Rack(rack);
+            this.minLength = Math.max(1, minLength);
+            this.maxLength = maxLength;
+            this.children = new int[maxLength + 1];
+            this.blanks = new boolean[maxLength + 1];
+            this.word = new char[maxLength + 1];
+            children[0] = maxLength == 0 ? Dawg.NONE : words.firstChild(words.root());
+        }
+
+        /**
+         * checks if there is another word and finds it if it has not been
+         * found yet
+         *
+         * @return if there is another word
+         */
+        @Override
+        public boolean hasNext() {
+            if (next == null) {
+                next = find();
+            }
+            return next != null;
+        }
+
+        /**
+         * gets the next word
+         *
+         * @return the next word
+         */
+        @Override
+        public String next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            String word = next;
+            next = null;
+            return word;
+        }
+
+        /**
+         * moves through the dawg until the next word that fits is found
+         *
+         * @return the word or null if there are no more words
+         */
+        private String find() {
+            while (depth >= 0) {
+                int child = children[depth];
+                if (child == Dawg.NONE) {
+                    depth--;
+                    if (depth >= 0) {
+                        giveBack(depth);
+                        children[depth] = words.nextChild(children[depth]);
+                    }
+                    continue;
+                }
+                if (!take(depth, words.letter(child))) {
+                    children[depth] = words.nextChild(child);
+                    continue;
+                }
+                int length = depth + 1;
+                String found = null;
+                if (length >= minLength && words.isWord(child)) {
+                    found = new String(word, 0, length);
+                }
+                if (length < maxLength && words.firstChild(child) != Dawg.NONE) {
+                    depth++;
+                    children[depth] = words.firstChild(child);
+                } else {
+                    giveBack(depth);
+                    children[depth] = words.nextChild(child);
+                }
+                if (found != null) {
+                    return found;
+                }
+            }
+            return null;
+        }
+
+        /**
+         * tries to put a letter at a place in the word. The letter must fit
+         * the pattern and come from the rack, where a blank is only used if
+         * the rack does not have the letter
+         *
+         * @param place  the place in the word
+         * @param letter the index of the letter in the alphabet
+         * @return if the letter was put in the word
+         */
+        private boolean take(int place, int letter) {
+            boolean free = false;
+            if (pattern != null) {
+                char c = pattern[place];
+                if (c != BLANK && c - 'a' != letter) {
+                    return false;
+                }
+                free = c != BLANK;
+            }
+            boolean blank = false;
+            if (rack != null && !free) {
+                if (rack.has(letter)) {
+                    rack.remove(letter);
+                } else if (rack.hasBlank()) {
+                    rack.removeBlank();
+                    blank = true;
+                } else {
+                    return false;
+                }
+            }
+            blanks[place] = blank;
+            word[place] = (char) ((blank ? 'A' : 'a') + letter);
+            return true;
+        }
+
+        /**
+         * puts the letter at a place in the word back in the rack
+         *
+         * @param place the place in the word
+         */
+        private void giveBack(int place) {
+            if (rack == null || (pattern != null && pattern[place] != BLANK)) {
+                return;
+            }
+            if (blanks[place]) {
+                rack.addBlank();
+            } else {
+                rack.add(word[place] - 'a');
+            }
+        }
+    }
+
+    /**
+     * Main method that answers queries read one on each line. Must have a
+     * command line argument that is the dictionary. A query is "anagram" and
+     * the letters, "words" and the letters or "pattern" and the pattern with
+     * the letters that can be used after it if there are any. The words of
+     * each query are written on one line. --limit and a number is the most
+     * words written for each query
+     *
+     * @param args command line arguments
+     */
+    public static void main(String[] args) {
+        if (args.length < 1) {
+            System.out.println("Please enter a file name");
+        } else {
+            long limit = Long.MAX_VALUE;
+            for (int i = 1; i < args.length; i++) {
+                if (args[i].equals("--limit") && i + 1 < args.length) {
+                    limit = Long.parseLong(args[++i]);
+                }
+            }
+            Dictionary dictionary = DictionaryRegistry.acquire(args[0]);
+            WordIndex index = dictionary.getIndex();
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(System.in));
+                 BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(System.out))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    String[] parts = line.trim().split("\\s+");
+                    if (parts.length < 2) {
+                        continue;
+                    }
+                    Stream<String> found;
+                    if (parts[0].equals("anagram")) {
+                        found = index.anagrams(parts[1]);
+                    } else if (parts[0].equals("words")) {
+                        found = index.words(parts[1]);
+                    } else if (parts[0].equals("pattern")) {
+                        found = index.matching(parts[1], parts.length > 2 ? parts[2] : null);
+                    } else {
+                        writer.write("unknown query " + parts[0] + "\n");
+                        continue;
+                    }
+                    StringBuilder result = new StringBuilder();
+                    found.limit(limit).forEach(word -> result.append(word).append(' '));
+                    writer.write(result.toString().trim());
+                    writer.write('\n');
+                }
+            } catch (IOException e) {
+                System.out.println(e);
+            }
+            DictionaryRegistry.release(dictionary);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package scrabble;
+
+/**
+ * Zobrist hashing gives each square and what is on it a random 64 bit key
+ * and the hash of a board is all of those keys combined with xor. Changing
+ * one square only needs the old key and the new key to be xor'd into the
+ * hash so it can be kept up to date as letters are placed. The keys are made
+ * by mixing the square and its contents instead of being stored in a table
+ * so any size of board can be hashed. The tray is hashed the same way with a
+ * key for each letter and how many of it there are
+ *
+ * @author Logan Nunno
+ */
+public class Zobrist {
+    private static final long SEED = 0x5DEECE66DL;
+    private static final long TRAY = 1L << 40;
+    private static final int BLANK = 26;
+
+    /**
+     * Zobrist only has static methods
+     */
+    private Zobrist() {
+    }
+
+    /**
+     * gets the key of a square with a letter on it
+     *
+     * @param index  the index of the square going across each row
+     * @param letter the letter on the square. Blanks are upper case
+     * @return the key of the square
+     */
+    public static long letter(int index, char letter) {
+        return mix(((long) index << 9) | letter);
+    }
+
+    /**
+     * gets the key of an empty square with its multipliers
+     *
+     * @param index       the index of the square going across each row
+     * @param multipliers the word multiplier in the high four bits and the
+     *                    letter multiplier in the low four bits
+     * @return the key of the square
+     */
+    public static long empty(int index, int multipliers) {
+        return mix(((long) index << 9) | 0x100 | (multipliers & 0xFF));
+    }
+
+    /**
+     * gets the hash of a tray from how many of each letter and blanks it has
+     * so trays with the same letters in any order have the same hash
+     *
+     * @param tray the tray that is hashed
+     * @return the hash of the tray
+     */
+    public static long tray(Rack tray) {
+        long hash = mix(TRAY | ((long) BLANK << 4) | tray.getBlanks());
+        for (int i = 0; i < BLANK; i++) {
+            hash ^= mix(TRAY | ((long) i << 4) | tray.count(i));
+        }
+        return hash;
+    }
+
+    /**
+     * mixes the bits of a value so that values that are close have keys that
+     * are not alike. This is the finalizer of SplitMix64
+     *
+     * @param value the value that is mixed
+     * @return the mixed value
+     */
+    private static long mix(long value) {
+        long z = value * 0x9E3779B97F4A7C15L + SEED;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}